@@ -0,0 +1,33 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+// shared setup, everything runs without Gdx.app, GL or audio
+final class BenchmarkFixtures {
+
+    static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+    static final long SEED = 42L;
+
+    static GameContext createContext() {
+        return new GameContext(DifficultyLevel.MEDIUM, SEED,
+                InputSource.IDLE, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+    }
+
+    static float randomX(RandomXS128 random) {
+        return random.nextFloat() * (GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE);
+    }
+
+    static float randomY(RandomXS128 random) {
+        return random.nextFloat() * GameConfig.WORLD_HEIGHT;
+    }
+
+    private BenchmarkFixtures() {
+    }
+}
@@ -0,0 +1,56 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleSprite;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// single circle test, ObstacleSprite.isPlayerColliding
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private PlayerSprite player;
+    private ObstacleSprite overlapping;
+    private ObstacleSprite apart;
+
+    @Setup
+    public void setUp() {
+        EntityFactory factory = new EntityFactory(BenchmarkFixtures.createContext(), null, null);
+
+        player = factory.createPlayer();
+        player.setPosition(GameConfig.WORLD_CENTER_X, 1f);
+
+        overlapping = factory.obtain();
+        overlapping.setPosition(GameConfig.WORLD_CENTER_X, 1.2f);
+
+        apart = factory.obtain();
+        apart.setPosition(0f, GameConfig.WORLD_HEIGHT);
+    }
+
+    @Benchmark
+    public boolean isPlayerCollidingHit() {
+        return overlapping.isPlayerColliding(player);
+    }
+
+    @Benchmark
+    public boolean isPlayerCollidingMiss() {
+        return apart.isPlayerColliding(player);
+    }
+}
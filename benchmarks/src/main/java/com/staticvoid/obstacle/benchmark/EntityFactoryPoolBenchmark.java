@@ -0,0 +1,53 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.utils.Array;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.entity.ObstacleSprite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// EntityFactory.obtain / free churn through the obstacle pool
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityFactoryPoolBenchmark {
+
+    // obstacles obtained before they are all freed again
+    @Param({"1", "40"})
+    public int batchSize;
+
+    private EntityFactory factory;
+    private Array<ObstacleSprite> live;
+
+    @Setup
+    public void setUp() {
+        factory = new EntityFactory(BenchmarkFixtures.createContext(), null, null);
+        live = new Array<ObstacleSprite>(batchSize);
+    }
+
+    @Benchmark
+    public int obtainFree() {
+        for (int i = 0; i < batchSize; i++) {
+            live.add(factory.obtain());
+        }
+
+        int size = live.size;
+        factory.freeAll(live);
+        live.clear();
+        return size;
+    }
+}
@@ -0,0 +1,84 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.util.log.EventLog;
+import com.staticvoid.obstacle.util.log.LogEvent;
+import com.staticvoid.obstacle.util.log.LogLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// cost on the logging thread of one collision message:
+// a println with string concatenation to an autoflushing stream (what Logger.debug does
+// with stdout) against an EventLog record, enabled and filtered out by its level
+// the enabled log is flushed to a file as in the game, when the benchmark logs faster
+// than the flusher drains some records are dropped, which costs about the same
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLogBenchmark {
+
+    private File directory;
+    private PrintStream out;
+    private EventLog enabledLog;
+    private EventLog filteredLog;
+
+    private int tick;
+    private int lives = 3;
+    private int score;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("event-log-benchmark").toFile();
+        out = new PrintStream(new FileOutputStream(new File(directory, "stdout.txt")), true);
+
+        enabledLog = new EventLog(1 << 16);
+        enabledLog.start(new File(directory, "enabled"), LogLevel.DEBUG);
+
+        // collisions are DEBUG, filtered out at INFO
+        filteredLog = new EventLog(1 << 16);
+        filteredLog.start(new File(directory, "filtered"), LogLevel.INFO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        enabledLog.stop();
+        filteredLog.stop();
+        out.close();
+    }
+
+    @Benchmark
+    public void println() {
+        tick++;
+        out.println("Collision Detected!  BAM! tick " + tick + " lives " + lives + " score " + score);
+    }
+
+    @Benchmark
+    public void eventLog() {
+        tick++;
+        enabledLog.log(LogEvent.COLLISION, tick, lives, score);
+    }
+
+    @Benchmark
+    public void eventLogFiltered() {
+        tick++;
+        filteredLog.log(LogEvent.COLLISION, tick, lives, score);
+    }
+}
@@ -0,0 +1,58 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.debug.ProfilerPhase;
+import com.staticvoid.obstacle.util.debug.TimingHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// cost of one begin/end pair around an empty phase, the overhead added per timed phase
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameProfilerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private FrameProfiler profiler;
+
+    @Setup
+    public void setUp() {
+        profiler = new FrameProfiler();
+        profiler.setEnabled(enabled);
+
+        // spread of samples, 100ns to 1ms, so the percentile walk has buckets to cover
+        TimingHistogram histogram = profiler.getHistogram(ProfilerPhase.RENDER_UI);
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 100L);
+        }
+    }
+
+    @Benchmark
+    public long beginEnd() {
+        long start = profiler.begin();
+        profiler.end(ProfilerPhase.COLLISION, start);
+        return start;
+    }
+
+    @Benchmark
+    public long percentiles() {
+        // what the overlay reads for one row each frame
+        return profiler.getHistogram(ProfilerPhase.RENDER_UI).getPercentile(99);
+    }
+}
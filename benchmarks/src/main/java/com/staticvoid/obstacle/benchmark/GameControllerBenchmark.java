@@ -0,0 +1,75 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+import com.staticvoid.obstacle.screen.game.GameController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// one fixed simulation step with a steady number of live obstacles
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int obstacleCount;
+
+    @Param({"BRUTE_FORCE", "SPATIAL_HASH", "SORTED_INTERVAL"})
+    public BroadphaseType broadphase;
+
+    private GameController controller;
+    private EntityFactory factory;
+    private ObstacleStore obstacles;
+    private RandomXS128 random;
+
+    @Setup
+    public void setUp() {
+        GameContext context = BenchmarkFixtures.createContext();
+        factory = new EntityFactory(context, null, null);
+        controller = new GameController(context, factory);
+        controller.setBroadphaseType(broadphase);
+
+        // park the player below the world, the game never ends but
+        // the collision query still runs against every obstacle each step
+        PlayerSprite player = controller.getPlayer();
+        player.setPosition(player.getX(), -100f);
+        player.savePreviousPosition();
+
+        obstacles = controller.getObstacles();
+        random = new RandomXS128(BenchmarkFixtures.SEED);
+        for (int i = 0; i < obstacleCount; i++) {
+            factory.spawnObstacle(obstacles, BenchmarkFixtures.randomX(random), BenchmarkFixtures.randomY(random));
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        controller.update(BenchmarkFixtures.STEP_TIME);
+
+        // replace obstacles that left the world, keeps the count steady
+        while (obstacles.size() < obstacleCount) {
+            factory.spawnObstacle(obstacles, BenchmarkFixtures.randomX(random),
+                    GameConfig.WORLD_HEIGHT + random.nextFloat());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.render.ObstacleQuadRenderer;
+import com.staticvoid.obstacle.screen.game.GameController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// simulation step and obstacle quad write with and without JobSystem workers,
+// 0 workers runs the same job graph inline on the benchmark thread
+// only meaningful on a machine with at least workerCount + 1 free cores
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobSystemBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int obstacleCount;
+
+    @Param({"0", "3"})
+    public int workerCount;
+
+    private JobSystem jobs;
+    private GameController controller;
+    private EntityFactory factory;
+    private ObstacleStore obstacles;
+    private RandomXS128 random;
+
+    private ObstacleQuadRenderer quadRenderer;
+    private IntArray visible;
+    private float alpha;
+
+    @Setup
+    public void setUp() {
+        jobs = new JobSystem(workerCount);
+
+        GameContext context = BenchmarkFixtures.createContext();
+        factory = new EntityFactory(context, null, null);
+        controller = new GameController(context, factory);
+        controller.setBroadphaseType(BroadphaseType.SORTED_INTERVAL);
+        controller.setJobSystem(jobs);
+
+        // same as GameControllerBenchmark, the player never gets hit
+        PlayerSprite player = controller.getPlayer();
+        player.setPosition(player.getX(), -100f);
+        player.savePreviousPosition();
+
+        obstacles = controller.getObstacles();
+        random = new RandomXS128(BenchmarkFixtures.SEED);
+        visible = new IntArray(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            factory.spawnObstacle(obstacles, BenchmarkFixtures.randomX(random), BenchmarkFixtures.randomY(random));
+            visible.add(i);
+        }
+
+        quadRenderer = new ObstacleQuadRenderer(new TextureRegion(), obstacleCount);
+        quadRenderer.setJobSystem(jobs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jobs.dispose();
+    }
+
+    @Benchmark
+    public int step() {
+        controller.update(BenchmarkFixtures.STEP_TIME);
+
+        // replace obstacles that left the world, keeps the count steady
+        while (obstacles.size() < obstacleCount) {
+            factory.spawnObstacle(obstacles, BenchmarkFixtures.randomX(random),
+                    GameConfig.WORLD_HEIGHT + random.nextFloat());
+        }
+        return obstacles.size();
+    }
+
+    @Benchmark
+    public ObstacleQuadRenderer writeQuads() {
+        alpha = alpha > 0.9f ? 0f : alpha + 0.1f;
+
+        quadRenderer.update(obstacles, visible, alpha);
+        return quadRenderer;
+    }
+}
@@ -0,0 +1,85 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.score.Leaderboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// recording a game and reading the top scores should cost the same
+// whether the leaderboard holds a thousand games or millions from the play farms
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int recordedGames;
+
+    private File directory;
+    private Leaderboard leaderboard;
+    private int game;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("leaderboard-benchmark").toFile();
+        leaderboard = new Leaderboard(directory);
+        for (; game < recordedGames; game++) {
+            record();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        leaderboard.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void recordGame() {
+        game++;
+        record();
+    }
+
+    // everything the high score screen shows for one level
+    @Benchmark
+    public long readTopScores() {
+        DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
+        long sum = 0;
+        for (int rank = 0; rank < leaderboard.getCount(difficultyLevel); rank++) {
+            sum += leaderboard.getScore(difficultyLevel, rank) + leaderboard.getTicks(difficultyLevel, rank)
+                    + leaderboard.getTimestamp(difficultyLevel, rank);
+        }
+        return sum;
+    }
+
+    // == private methods ==
+    private void record() {
+        // a new best every now and then, most games don't make the top scores
+        int score = (game * 7919) % 100_000;
+        leaderboard.record(DifficultyLevel.MEDIUM, game, score, 3600);
+    }
+}
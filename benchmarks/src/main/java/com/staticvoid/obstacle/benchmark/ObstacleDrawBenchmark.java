@@ -0,0 +1,103 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleSprite;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.render.ObstacleQuadWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// cpu side of drawing every obstacle at an interpolated position:
+// Sprite.draw (move sprite, getVertices, SpriteBatch copies the 20 floats) against
+// ObstacleQuadWriter filling the mesh vertex array straight from the store
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObstacleDrawBenchmark {
+
+    private static final int SPRITE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    public int obstacleCount;
+
+    private Array<ObstacleSprite> sprites;
+    private ObstacleStore store;
+    private IntArray visible;
+    private ObstacleQuadWriter writer;
+
+    // stands in for the SpriteBatch vertex array
+    private float[] batchVertices;
+    private float alpha;
+
+    @Setup
+    public void setUp() {
+        EntityFactory factory = new EntityFactory(BenchmarkFixtures.createContext(), null, null);
+        RandomXS128 random = new RandomXS128(BenchmarkFixtures.SEED);
+
+        sprites = new Array<ObstacleSprite>(obstacleCount);
+        store = new ObstacleStore(obstacleCount);
+        visible = new IntArray(obstacleCount);
+
+        for (int i = 0; i < obstacleCount; i++) {
+            float x = BenchmarkFixtures.randomX(random);
+            float y = BenchmarkFixtures.randomY(random);
+
+            ObstacleSprite obstacle = factory.obtain();
+            obstacle.setPosition(x, y);
+            sprites.add(obstacle);
+
+            store.add(x, y, GameConfig.MEDIUM_OBSTACLE_SPEED, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+            visible.add(i);
+        }
+
+        // one step of movement so interpolation has something to do
+        store.update(BenchmarkFixtures.STEP_TIME);
+
+        writer = new ObstacleQuadWriter(new TextureRegion(), obstacleCount);
+        batchVertices = new float[obstacleCount * SPRITE_SIZE];
+    }
+
+    @Benchmark
+    public float spriteDraw() {
+        alpha = alpha > 0.9f ? 0f : alpha + 0.1f;
+
+        int idx = 0;
+        for (int i = 0; i < sprites.size; i++) {
+            ObstacleSprite obstacle = sprites.get(i);
+            obstacle.setY(store.getInterpolatedY(i, alpha));
+
+            // what Sprite.draw(batch) and SpriteBatch.draw(texture, vertices, 0, 20) do
+            float[] vertices = obstacle.getVertices();
+            System.arraycopy(vertices, 0, batchVertices, idx, SPRITE_SIZE);
+            idx += SPRITE_SIZE;
+        }
+        return batchVertices[idx - 1];
+    }
+
+    @Benchmark
+    public float quadWriter() {
+        alpha = alpha > 0.9f ? 0f : alpha + 0.1f;
+
+        int quads = writer.write(store, visible, alpha);
+        return writer.getVertices()[quads * ObstacleQuadWriter.QUAD_SIZE - 1];
+    }
+}
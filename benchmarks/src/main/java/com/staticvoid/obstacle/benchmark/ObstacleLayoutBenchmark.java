@@ -0,0 +1,94 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleSprite;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// move + collision scan per step, ObstacleStore arrays against the old Array<ObstacleSprite>
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObstacleLayoutBenchmark {
+
+    // slow enough that nothing leaves the world during a run
+    private static final float Y_SPEED = 0.0001f;
+
+    @Param({"1000", "10000"})
+    public int obstacleCount;
+
+    private Array<ObstacleSprite> sprites;
+    private PlayerSprite player;
+
+    private ObstacleStore store;
+    private Circle playerBounds;
+
+    @Setup
+    public void setUp() {
+        EntityFactory factory = new EntityFactory(BenchmarkFixtures.createContext(), null, null);
+
+        // player far below the obstacles, every obstacle gets tested each step
+        player = factory.createPlayer();
+        player.setPosition(GameConfig.WORLD_CENTER_X, -100f);
+        playerBounds = new Circle(player.getBounds());
+
+        RandomXS128 random = new RandomXS128(BenchmarkFixtures.SEED);
+        sprites = new Array<ObstacleSprite>(obstacleCount);
+        store = new ObstacleStore(obstacleCount);
+
+        for (int i = 0; i < obstacleCount; i++) {
+            float x = BenchmarkFixtures.randomX(random);
+            float y = BenchmarkFixtures.randomY(random);
+
+            ObstacleSprite obstacle = factory.obtain();
+            obstacle.setYSpeed(Y_SPEED);
+            obstacle.setPosition(x, y);
+            sprites.add(obstacle);
+
+            store.add(x, y, Y_SPEED, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+        }
+    }
+
+    @Benchmark
+    public boolean sprites() {
+        for (int i = 0; i < sprites.size; i++) {
+            ObstacleSprite obstacle = sprites.get(i);
+            obstacle.savePreviousPosition();
+            obstacle.update(BenchmarkFixtures.STEP_TIME);
+        }
+
+        for (int i = 0; i < sprites.size; i++) {
+            ObstacleSprite obstacle = sprites.get(i);
+            if (!obstacle.isHit() && obstacle.isPlayerColliding(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean store() {
+        store.update(BenchmarkFixtures.STEP_TIME);
+        return store.findFirstCollision(playerBounds.x, playerBounds.y, playerBounds.radius) >= 0;
+    }
+}
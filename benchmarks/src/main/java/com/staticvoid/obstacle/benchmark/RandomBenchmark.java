@@ -0,0 +1,49 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.util.GameRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// one spawn position draw, on four threads as when sessions run side by side:
+// everyone on MathUtils.random (every draw writes the one shared state, the cache line moves
+// between cores and the values of each session depend on the others) against a RandomXS128
+// and a GameRandom stream per thread
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RandomBenchmark {
+
+    private final RandomXS128 randomXS128 = new RandomXS128(BenchmarkFixtures.SEED);
+    private final GameRandom gameRandom = new GameRandom(BenchmarkFixtures.SEED).split();
+
+    @Benchmark
+    public float sharedMathUtilsRandom() {
+        return MathUtils.random.nextFloat();
+    }
+
+    @Benchmark
+    public float randomXS128PerThread() {
+        return randomXS128.nextFloat();
+    }
+
+    @Benchmark
+    public float gameRandomPerThread() {
+        return gameRandom.nextFloat();
+    }
+}
@@ -0,0 +1,59 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// GameController.removePassedObstacles, which is a single ObstacleStore.removeBelow pass
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemovePassedObstaclesBenchmark {
+
+    private static final float MIN_OBSTACLE_Y = -GameConfig.OBSTACLE_SIZE;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int obstacleCount;
+
+    private ObstacleStore obstacles;
+    private RandomXS128 random;
+
+    @Setup
+    public void setUp() {
+        obstacles = new ObstacleStore(obstacleCount);
+        random = new RandomXS128(BenchmarkFixtures.SEED);
+        fill();
+    }
+
+    // roughly one obstacle in a hundred has passed, it is put back afterwards
+    // so every invocation compacts the same amount of work
+    @Benchmark
+    public int removeBelow() {
+        int removed = obstacles.removeBelow(MIN_OBSTACLE_Y);
+        fill();
+        return removed;
+    }
+
+    private void fill() {
+        while (obstacles.size() < obstacleCount) {
+            float y = random.nextInt(100) == 0 ? -GameConfig.WORLD_HEIGHT : BenchmarkFixtures.randomY(random);
+            obstacles.add(BenchmarkFixtures.randomX(random), y, 0f, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.util.WriteBehindStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+// what saving a new high score costs the thread that reaches game over:
+// a put followed by a synchronous flush (what Preferences.flush() did, rewrite the file)
+// against a put the background writer picks up later
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettingsWriteBenchmark {
+
+    private WriteBehindStore store;
+    private int score;
+
+    @Setup
+    public void setUp() throws IOException {
+        File directory = Files.createTempDirectory("settings-benchmark").toFile();
+        store = new WriteBehindStore(new File(directory, "settings.properties"), 500);
+        store.putString("difficulty", "MEDIUM");
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.dispose();
+    }
+
+    @Benchmark
+    public void putAndFlush() {
+        store.putInteger("highscore", ++score);
+        store.flush();
+    }
+
+    @Benchmark
+    public void putWriteBehind() {
+        store.putInteger("highscore", ++score);
+    }
+}
@@ -0,0 +1,51 @@
+package com.staticvoid.obstacle.benchmark;
+
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleSprite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// GameSpriteBase.updateBounds, directly and through setY as the sprites call it
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBoundsBenchmark {
+
+    private ObstacleSprite obstacle;
+    private float y;
+
+    @Setup
+    public void setUp() {
+        EntityFactory factory = new EntityFactory(BenchmarkFixtures.createContext(), null, null);
+        obstacle = factory.obtain();
+        obstacle.setPosition(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_CENTER_Y);
+    }
+
+    @Benchmark
+    public float updateBounds() {
+        obstacle.updateBounds();
+        return obstacle.getBounds().y;
+    }
+
+    @Benchmark
+    public float setY() {
+        // Sprite.setY also shifts the 20 float vertex array
+        y = y > GameConfig.WORLD_HEIGHT ? 0f : y + 0.01f;
+        obstacle.setY(y);
+        return obstacle.getBounds().y;
+    }
+}
@@ -3,11 +3,19 @@ package com.staticvoid.obstacle;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.Logger;
+import com.staticvoid.obstacle.assets.AssetDescriptors;
 import com.staticvoid.obstacle.common.GameManager;
+import com.staticvoid.obstacle.render.QuadMeshBatch;
 import com.staticvoid.obstacle.screen.loading.LoadingScreen;
+import com.staticvoid.obstacle.util.debug.DebugKeys;
+import com.staticvoid.obstacle.util.debug.RenderStats;
+import com.staticvoid.obstacle.util.debug.RenderStatsOverlay;
+import com.staticvoid.obstacle.util.log.EventLog;
+import com.staticvoid.obstacle.util.log.LogLevel;
 
 /**
  * {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms.
@@ -16,20 +24,68 @@ public class ObstacleAvoidGame extends Game {
 
     private AssetManager assetManager;
     private SpriteBatch batch;
+    private RenderStats renderStats;
+    private RenderStatsOverlay renderStatsOverlay;
+    // per step events of every session, handed to them through GameContext
+    private final EventLog eventLog = new EventLog(EVENT_LOG_CAPACITY);
+
+    // binary event log files, read with headless:dumpEventLog
+    private static final String EVENT_LOG_DIRECTORY = "logs";
+    private static final int EVENT_LOG_CAPACITY = 8192;
 
     @Override
     public void create() {
-        Gdx.app.setLogLevel(Application.LOG_DEBUG);
-
+        // Logger debug output is for one off messages (screen changes, menu clicks),
+        // LOG_DEBUG shows them, per step and frame events go to the EventLog
+        Gdx.app.setLogLevel(Application.LOG_INFO);
+        eventLog.start(Gdx.files.local(EVENT_LOG_DIRECTORY).file(), LogLevel.DEBUG);
 
         assetManager = new AssetManager();
         assetManager.getLogger().setLevel(Logger.DEBUG);
 
-        batch = new SpriteBatch();
+        // SpriteBatch that draws the obstacle quads in one call however many there are
+        batch = new QuadMeshBatch();
+
+        // measures every screen, off until toggled with DebugKeys.TOGGLE_RENDER_STATS
+        renderStats = new RenderStats(Gdx.graphics, batch);
+        renderStatsOverlay = new RenderStatsOverlay(renderStats, batch);
 
         setScreen(new LoadingScreen(this));
     }
 
+    @Override
+    public void render() {
+        if (Gdx.input.isKeyJustPressed(DebugKeys.TOGGLE_RENDER_STATS)) {
+            renderStats.toggle();
+        }
+
+        // screens switch at the end of their render, count the frame for the one that drew it
+        Screen renderedScreen = getScreen();
+
+        renderStats.beginFrame();
+        super.render();
+        renderStats.endFrame(renderedScreen);
+
+        // font is only there once the loading screen is done
+        if (renderStats.isEnabled() && assetManager.isLoaded(AssetDescriptors.FONT)) {
+            renderStatsOverlay.render(assetManager.get(AssetDescriptors.FONT));
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        super.resize(width, height);
+        renderStatsOverlay.resize(width, height);
+    }
+
+    // settings are written in the background, make sure they are on disk before the
+    // app may be killed
+    @Override
+    public void pause() {
+        super.pause();
+        GameManager.INSTANCE.flush();
+    }
+
     public AssetManager getAssetManager() {
         return assetManager;
     }
@@ -38,9 +94,22 @@ public class ObstacleAvoidGame extends Game {
         return batch;
     }
 
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+
     @Override
     public void dispose() {
+        // hides the current screen first, a game screen stops its simulation thread there,
+        // which may still record the game into GameManager's leaderboard until then
+        super.dispose();
         assetManager.dispose();
         batch.dispose();
+        GameManager.INSTANCE.dispose();
+        eventLog.stop();
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.staticvoid.obstacle.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+// narrows down which obstacles need an exact circle test against the player
+// every implementation must return exactly what BruteForceBroadphase returns
+public interface Broadphase {
+
+    // call once per simulation step, after obstacles moved, spawned and were removed
+    void update(ObstacleStore obstacles);
+
+    // lowest index of an obstacle not hit yet whose bounds overlap the circle, -1 if none
+    int findFirstCollision(ObstacleStore obstacles, float x, float y, float radius);
+
+    // clears result and fills it with the ascending indices of all obstacles whose
+    // bounds square overlaps the rectangle, hit or not (used for culling)
+    void findInRect(ObstacleStore obstacles, float minX, float minY, float maxX, float maxY, IntArray result);
+}
@@ -0,0 +1,19 @@
+package com.staticvoid.obstacle.collision;
+
+public enum BroadphaseType {
+    BRUTE_FORCE,
+    SPATIAL_HASH,
+    SORTED_INTERVAL;
+
+    // each session needs its own instance, they keep per session index state
+    public Broadphase create() {
+        switch (this) {
+            case SPATIAL_HASH:
+                return new SpatialHashBroadphase();
+            case SORTED_INTERVAL:
+                return new SortedIntervalBroadphase();
+            default:
+                return new BruteForceBroadphase();
+        }
+    }
+}
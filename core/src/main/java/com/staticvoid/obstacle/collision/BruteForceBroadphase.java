@@ -0,0 +1,24 @@
+package com.staticvoid.obstacle.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+// tests every obstacle, cost grows linearly with obstacle count, the reference result
+public class BruteForceBroadphase implements Broadphase {
+
+    @Override
+    public void update(ObstacleStore obstacles) {
+        // nothing to index
+    }
+
+    @Override
+    public int findFirstCollision(ObstacleStore obstacles, float x, float y, float radius) {
+        return obstacles.findFirstCollision(x, y, radius);
+    }
+
+    @Override
+    public void findInRect(ObstacleStore obstacles, float minX, float minY, float maxX, float maxY,
+                           IntArray result) {
+        obstacles.findInRect(minX, minY, maxX, maxY, result);
+    }
+}
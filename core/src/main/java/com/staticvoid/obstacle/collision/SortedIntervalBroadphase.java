@@ -0,0 +1,249 @@
+package com.staticvoid.obstacle.collision;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+import java.util.Arrays;
+
+// obstacles sorted by center x, a query binary searches the player's x interval
+// obstacles only ever move vertically, so the order only changes when obstacles are
+// added or removed (see ObstacleStore.getModCount) and most steps skip the rebuild
+public class SortedIntervalBroadphase implements Broadphase {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // == attributes
+    // sorted by x, sortedIndex[k] is the obstacle at position k
+    private float[] sortedX = new float[GameConfig.OBSTACLE_CAPACITY];
+    private int[] sortedIndex = new int[GameConfig.OBSTACLE_CAPACITY];
+    private int size;
+
+    // merge target, swapped with the sorted arrays after each rebuild
+    private float[] mergedX = new float[GameConfig.OBSTACLE_CAPACITY];
+    private int[] mergedIndex = new int[GameConfig.OBSTACLE_CAPACITY];
+
+    // center x per obstacle index at the last rebuild, to work out what moved where
+    private float[] indexedX = new float[GameConfig.OBSTACLE_CAPACITY];
+    private int[] remap = new int[GameConfig.OBSTACLE_CAPACITY];
+
+    // sort key for added obstacles: sortable x bits in the high half, index in the low half
+    private long[] keys = new long[GameConfig.OBSTACLE_CAPACITY];
+
+    private float maxRadius;
+    private int indexedModCount;
+    private ObstacleStore indexedStore;
+
+    // == public methods
+    @Override
+    public void update(ObstacleStore obstacles) {
+        if (obstacles == indexedStore && obstacles.getModCount() == indexedModCount) {
+            return; // same obstacles, x never changes
+        }
+
+        int newSize = obstacles.size();
+        ensureCapacity(newSize);
+
+        // removal keeps the order of the survivors and new obstacles are appended,
+        // so the new x sequence starts with a subsequence of the old one, match it greedily
+        // (equal x values may pair up differently, their sorted position is the same anyway)
+        int oldSize = obstacles == indexedStore ? size : 0;
+        int matched = 0;
+        for (int i = 0; i < oldSize; i++) {
+            if (matched < newSize && obstacles.getCenterX(matched) == indexedX[i]) {
+                remap[i] = matched++;
+            } else {
+                remap[i] = -1;
+            }
+        }
+
+        // survivors keep their sorted order, only their index changes
+        int kept = 0;
+        for (int k = 0; k < oldSize; k++) {
+            int index = remap[sortedIndex[k]];
+            if (index >= 0) {
+                sortedX[kept] = sortedX[k];
+                sortedIndex[kept] = index;
+                kept++;
+            }
+        }
+
+        // sort the obstacles that were added and merge them in
+        int added = newSize - matched;
+        for (int i = 0; i < added; i++) {
+            int index = matched + i;
+            keys[i] = ((long) sortableBits(obstacles.getCenterX(index)) << 32) | index;
+        }
+        sort(keys, 0, added - 1);
+        merge(obstacles, kept, added);
+
+        maxRadius = 0f;
+        for (int i = 0; i < newSize; i++) {
+            indexedX[i] = obstacles.getCenterX(i);
+            maxRadius = Math.max(maxRadius, obstacles.getRadius(i));
+        }
+
+        size = newSize;
+        indexedStore = obstacles;
+        indexedModCount = obstacles.getModCount();
+    }
+
+    @Override
+    public int findFirstCollision(ObstacleStore obstacles, float x, float y, float radius) {
+        float reach = radius + maxRadius;
+        float maxX = x + reach;
+
+        int best = -1;
+
+        for (int k = lowerBound(x - reach); k < size && sortedX[k] <= maxX; k++) {
+            int index = sortedIndex[k];
+            if (best >= 0 && index >= best) {
+                continue;
+            }
+
+            if (!obstacles.isHit(index) && obstacles.overlaps(index, x, y, radius)) {
+                best = index;
+            }
+        }
+
+        return best;
+    }
+
+    @Override
+    public void findInRect(ObstacleStore obstacles, float minX, float minY, float maxX, float maxY,
+                           IntArray result) {
+        result.clear();
+
+        // sorted on center x, widen by the largest radius
+        float maxCenterX = maxX + maxRadius;
+        for (int k = lowerBound(minX - maxRadius); k < size && sortedX[k] <= maxCenterX; k++) {
+            int index = sortedIndex[k];
+            if (obstacles.overlapsRect(index, minX, minY, maxX, maxY)) {
+                result.add(index);
+            }
+        }
+
+        // x order, callers expect index order
+        result.sort();
+    }
+
+    // == private methods
+    // merges kept sorted entries with the sorted added keys, then swaps buffers
+    private void merge(ObstacleStore obstacles, int kept, int added) {
+        int a = 0;
+        int b = 0;
+        int out = 0;
+
+        while (a < kept || b < added) {
+            boolean takeKept;
+            if (b >= added) {
+                takeKept = true;
+            } else if (a >= kept) {
+                takeKept = false;
+            } else {
+                takeKept = sortedX[a] <= obstacles.getCenterX((int) keys[b]);
+            }
+
+            if (takeKept) {
+                mergedX[out] = sortedX[a];
+                mergedIndex[out] = sortedIndex[a];
+                a++;
+            } else {
+                int index = (int) keys[b];
+                mergedX[out] = obstacles.getCenterX(index);
+                mergedIndex[out] = index;
+                b++;
+            }
+            out++;
+        }
+
+        float[] swapX = sortedX;
+        sortedX = mergedX;
+        mergedX = swapX;
+
+        int[] swapIndex = sortedIndex;
+        sortedIndex = mergedIndex;
+        mergedIndex = swapIndex;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= sortedX.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, sortedX.length * 2);
+        sortedX = Arrays.copyOf(sortedX, newCapacity);
+        sortedIndex = Arrays.copyOf(sortedIndex, newCapacity);
+        mergedX = new float[newCapacity];
+        mergedIndex = new int[newCapacity];
+        indexedX = Arrays.copyOf(indexedX, newCapacity);
+        remap = new int[newCapacity];
+        keys = new long[newCapacity];
+    }
+
+    // first position whose x is >= value
+    private int lowerBound(float value) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedX[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // float bits reordered so signed int comparison matches float comparison
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    // in place quicksort, Arrays.sort may allocate a work buffer on partly sorted input
+    private static void sort(long[] a, int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            long pivot = a[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (a[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long tmp = a[i];
+                    a[i] = a[j];
+                    a[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+
+            // recurse into the smaller half, loop on the larger one
+            if (j - low < high - i) {
+                sort(a, low, j);
+                low = i;
+            } else {
+                sort(a, i, high);
+                high = j;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= low && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+}
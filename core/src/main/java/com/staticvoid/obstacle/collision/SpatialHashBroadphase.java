@@ -0,0 +1,149 @@
+package com.staticvoid.obstacle.collision;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+import java.util.Arrays;
+
+// uniform grid keyed on world cells, rebuilt every step with a counting sort
+// a query only looks at the few cells around the player, whatever the obstacle count
+public class SpatialHashBroadphase implements Broadphase {
+
+    // grid covers the world plus room above (spawn) and below (leaving) it
+    // obstacles outside are clamped into the border cells, so nothing is ever missed
+    private static final float MIN_Y = -GameConfig.OBSTACLE_SIZE;
+    private static final float MAX_Y = GameConfig.WORLD_HEIGHT + GameConfig.OBSTACLE_SIZE;
+
+    // == attributes
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+
+    // obstacles of cell c are cellItems[cellStart[c]] until cellItems[cellStart[c + 1]]
+    private final int[] cellStart;
+    private final int[] cellCursor;
+    private int[] cellItems = new int[GameConfig.OBSTACLE_CAPACITY];
+    private int[] itemCell = new int[GameConfig.OBSTACLE_CAPACITY];
+
+    private float maxRadius;
+
+    // constructors
+    public SpatialHashBroadphase() {
+        this(GameConfig.BROADPHASE_CELL_SIZE);
+    }
+
+    public SpatialHashBroadphase(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be positive");
+        }
+
+        this.cellSize = cellSize;
+        columns = MathUtils.ceil(GameConfig.WORLD_WIDTH / cellSize);
+        rows = MathUtils.ceil((MAX_Y - MIN_Y) / cellSize);
+
+        cellStart = new int[columns * rows + 1];
+        cellCursor = new int[columns * rows];
+    }
+
+    // == public methods
+    @Override
+    public void update(ObstacleStore obstacles) {
+        int size = obstacles.size();
+        if (size > cellItems.length) {
+            int capacity = Math.max(size, cellItems.length * 2);
+            cellItems = new int[capacity];
+            itemCell = new int[capacity];
+        }
+
+        Arrays.fill(cellStart, 0);
+        maxRadius = 0f;
+
+        // count obstacles per cell, keyed on the obstacle's center
+        for (int i = 0; i < size; i++) {
+            int cell = row(obstacles.getCenterY(i)) * columns + column(obstacles.getCenterX(i));
+            itemCell[i] = cell;
+            cellStart[cell + 1]++;
+            maxRadius = Math.max(maxRadius, obstacles.getRadius(i));
+        }
+
+        for (int cell = 0; cell < cellCursor.length; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+            cellCursor[cell] = cellStart[cell];
+        }
+
+        // indices go in ascending order, so every cell is sorted by index
+        for (int i = 0; i < size; i++) {
+            cellItems[cellCursor[itemCell[i]]++] = i;
+        }
+    }
+
+    @Override
+    public int findFirstCollision(ObstacleStore obstacles, float x, float y, float radius) {
+        float reach = radius + maxRadius;
+
+        int firstColumn = column(x - reach);
+        int lastColumn = column(x + reach);
+        int firstRow = row(y - reach);
+        int lastRow = row(y + reach);
+
+        int best = -1;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int index = cellItems[k];
+                    if (best >= 0 && index >= best) {
+                        break; // rest of this cell can't beat best
+                    }
+
+                    if (!obstacles.isHit(index) && obstacles.overlaps(index, x, y, radius)) {
+                        best = index;
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    @Override
+    public void findInRect(ObstacleStore obstacles, float minX, float minY, float maxX, float maxY,
+                           IntArray result) {
+        result.clear();
+
+        // cells are keyed on centers, widen by the largest radius
+        int firstColumn = column(minX - maxRadius);
+        int lastColumn = column(maxX + maxRadius);
+        int firstRow = row(minY - maxRadius);
+        int lastRow = row(maxY + maxRadius);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = row * columns + column;
+
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int index = cellItems[k];
+                    if (obstacles.overlapsRect(index, minX, minY, maxX, maxY)) {
+                        result.add(index);
+                    }
+                }
+            }
+        }
+
+        // cells come out in grid order, callers expect index order
+        result.sort();
+    }
+
+    // == private methods
+    private int column(float x) {
+        return MathUtils.clamp((int) Math.floor(x / cellSize), 0, columns - 1);
+    }
+
+    private int row(float y) {
+        return MathUtils.clamp((int) Math.floor((y - MIN_Y) / cellSize), 0, rows - 1);
+    }
+}
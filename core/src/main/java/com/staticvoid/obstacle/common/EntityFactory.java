@@ -10,26 +10,38 @@ import com.staticvoid.obstacle.assets.RegionNames;
 import com.staticvoid.obstacle.config.GameConfig;
 import com.staticvoid.obstacle.entity.Background;
 import com.staticvoid.obstacle.entity.ObstacleSprite;
+import com.staticvoid.obstacle.entity.ObstacleStore;
 import com.staticvoid.obstacle.entity.PlayerSprite;
 
 public class EntityFactory {
 
     // == attributes
-    private final AssetManager assetManager;
-    private TextureAtlas gamePlayAtlas;
-    private TextureRegion obstacleRegion;
+    private final GameContext context;
+    private final TextureRegion playerRegion;
+    private final TextureRegion obstacleRegion;
     private Pool<ObstacleSprite> obstaclePool;
 
     // constructor
-    public EntityFactory(AssetManager assetManager) {
-        this.assetManager = assetManager;
+    public EntityFactory(GameContext context, AssetManager assetManager) {
+        this(context, assetManager.get(AssetDescriptors.GAME_PLAY));
+    }
+
+    public EntityFactory(GameContext context, TextureAtlas gamePlayAtlas) {
+        this(context,
+                gamePlayAtlas.findRegion(RegionNames.PLAYER),
+                gamePlayAtlas.findRegion(RegionNames.OBSTACLE));
+    }
+
+    // regions may be null when nothing is drawn, e.g. headless simulation
+    public EntityFactory(GameContext context, TextureRegion playerRegion, TextureRegion obstacleRegion) {
+        this.context = context;
+        this.playerRegion = playerRegion;
+        this.obstacleRegion = obstacleRegion;
         init();
     }
 
     // CUSTOM POOL
     private void init() {
-        gamePlayAtlas = assetManager.get(AssetDescriptors.GAME_PLAY);
-        obstacleRegion = gamePlayAtlas.findRegion(RegionNames.OBSTACLE);
         obstaclePool = new Pool<ObstacleSprite>(40) { // pool size
             @Override
             protected ObstacleSprite newObject() {
@@ -41,7 +53,6 @@ public class EntityFactory {
 
     // == public methods
     public PlayerSprite createPlayer() {
-        TextureRegion playerRegion = gamePlayAtlas.findRegion(RegionNames.PLAYER);
         return new PlayerSprite(playerRegion);
     }
 
@@ -52,9 +63,23 @@ public class EntityFactory {
         return background;
     }
 
+    public ObstacleStore createObstacleStore() {
+        return new ObstacleStore(GameConfig.OBSTACLE_CAPACITY);
+    }
+
+    // adds an obstacle moving at the session's difficulty speed, returns its index
+    public int spawnObstacle(ObstacleStore obstacles, float x, float y) {
+        float ySpeed = context.getDifficultyLevel().getObstacleSpeed();
+        return obstacles.add(x, y, ySpeed, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+    }
+
+    // sprite based obstacles, superseded by ObstacleStore in the game loop
     public ObstacleSprite obtain() {
         ObstacleSprite obstacle = obstaclePool.obtain();
-        obstacle.setRegion(obstacleRegion);
+        if (obstacleRegion != null) {
+            obstacle.setRegion(obstacleRegion);
+        }
+        obstacle.setYSpeed(context.getDifficultyLevel().getObstacleSpeed());
         return obstacle;
     }
 
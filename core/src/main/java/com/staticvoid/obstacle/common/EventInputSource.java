@@ -0,0 +1,99 @@
+package com.staticvoid.obstacle.common;
+
+// steering replayed from an InputEventQueue on the simulation thread
+// each step applies the events that happened up to the time it stands for, so the
+// simulation sees presses and releases in the step they belong to, not once a frame
+// a key tapped and released between two steps still steers for that one step
+public class EventInputSource implements InputSource {
+
+    // -- attributes --
+    private final InputEventQueue queue;
+
+    private boolean leftDown;
+    private boolean rightDown;
+    // pressed since the previous step, kept for one step even when already released
+    private boolean leftTapped;
+    private boolean rightTapped;
+
+    private float touchX = NO_TOUCH;
+    private boolean touchTapped;
+    private long inputTime;
+
+    // constructor
+    public EventInputSource(InputEventQueue queue) {
+        if (queue == null) {
+            throw new IllegalArgumentException("Queue param required");
+        }
+        this.queue = queue;
+    }
+
+    // == public methods ==
+    @Override
+    public void advanceTo(long nanoTime) {
+        leftTapped = false;
+        rightTapped = false;
+        if (touchTapped) {
+            touchTapped = false;
+            touchX = NO_TOUCH;
+        }
+
+        while (!queue.isEmpty() && queue.peekTime() <= nanoTime) {
+            apply(queue.peekType(), queue.peekValue());
+            inputTime = queue.peekTime();
+            queue.next();
+        }
+    }
+
+    // right wins when both are held, as with the polled arrow keys
+    @Override
+    public int getMoveDirection() {
+        if (rightDown || rightTapped) {
+            return MOVE_RIGHT;
+        } else if (leftDown || leftTapped) {
+            return MOVE_LEFT;
+        }
+        return MOVE_NONE;
+    }
+
+    @Override
+    public float getTouchX() {
+        return touchX;
+    }
+
+    @Override
+    public long getInputTime() {
+        return inputTime;
+    }
+
+    // == private methods ==
+    private void apply(int type, float value) {
+        switch (type) {
+            case InputEventQueue.LEFT_DOWN:
+                leftDown = true;
+                leftTapped = true;
+                break;
+            case InputEventQueue.LEFT_UP:
+                leftDown = false;
+                break;
+            case InputEventQueue.RIGHT_DOWN:
+                rightDown = true;
+                rightTapped = true;
+                break;
+            case InputEventQueue.RIGHT_UP:
+                rightDown = false;
+                break;
+            case InputEventQueue.TOUCH_DOWN:
+            case InputEventQueue.TOUCH_DRAGGED:
+                touchX = value;
+                touchTapped = false;
+                break;
+            case InputEventQueue.TOUCH_UP:
+                // the player still gets to where the finger was lifted this step
+                touchX = value;
+                touchTapped = true;
+                break;
+            default:
+                throw new IllegalStateException("Unknown input event type " + type);
+        }
+    }
+}
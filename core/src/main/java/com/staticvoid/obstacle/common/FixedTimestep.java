@@ -0,0 +1,58 @@
+package com.staticvoid.obstacle.common;
+
+// hands out frame time as fixed size simulation steps
+// the game then plays at the same speed on a 30Hz phone and a 144Hz monitor
+public class FixedTimestep {
+
+    // == attributes
+    private final float stepTime;
+    private final int maxStepsPerFrame;
+
+    private float accumulator;
+
+    // constructor
+    public FixedTimestep(int ticksPerSecond, int maxStepsPerFrame) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive");
+        }
+
+        if (maxStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("maxStepsPerFrame must be positive");
+        }
+
+        this.stepTime = 1f / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    // == public methods
+    // adds frame time and returns how many steps should run this frame
+    public int advance(float frameDelta) {
+        accumulator += frameDelta;
+
+        int steps = (int) (accumulator / stepTime);
+
+        if (steps > maxStepsPerFrame) {
+            // too far behind (slow device, app was paused), drop the excess time
+            // instead of spiralling into longer and longer catch up frames
+            steps = maxStepsPerFrame;
+            accumulator = accumulator % stepTime;
+        } else {
+            accumulator -= steps * stepTime;
+        }
+
+        return steps;
+    }
+
+    // how far we are into the next step, 0 to 1, used to interpolate rendering
+    public float getAlpha() {
+        return Math.min(accumulator / stepTime, 1f);
+    }
+
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    public void reset() {
+        accumulator = 0f;
+    }
+}
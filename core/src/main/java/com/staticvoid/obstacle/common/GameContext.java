@@ -0,0 +1,94 @@
+package com.staticvoid.obstacle.common;
+
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.util.GameRandom;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+// everything a single game session needs from the outside world
+// one context per session, nothing in here is shared between sessions,
+// so any number of sessions can run side by side on separate threads
+public class GameContext {
+
+    // == attributes
+    private final DifficultyLevel difficultyLevel;
+    private final long seed;
+    private final GameRandom spawnRandom;
+    private final GameRandom scoreRandom;
+    private final InputSource input;
+    private final SoundSink sound;
+    private final ScorePersistence scores;
+    private final EventLog eventLog;
+
+    // constructor
+    public GameContext(DifficultyLevel difficultyLevel, long seed,
+                       InputSource input, SoundSink sound, ScorePersistence scores, EventLog eventLog) {
+        if (difficultyLevel == null) {
+            throw new IllegalArgumentException("difficultyLevel param required");
+        }
+
+        if (input == null) {
+            throw new IllegalArgumentException("input param required");
+        }
+
+        if (sound == null) {
+            throw new IllegalArgumentException("sound param required");
+        }
+
+        if (scores == null) {
+            throw new IllegalArgumentException("scores param required");
+        }
+
+        if (eventLog == null) {
+            throw new IllegalArgumentException("eventLog param required");
+        }
+
+        this.difficultyLevel = difficultyLevel;
+        this.seed = seed;
+        // separate streams, spawning and scoring don't shift each other's values
+        GameRandom random = new GameRandom(seed);
+        this.spawnRandom = random.split();
+        this.scoreRandom = random.split();
+        this.input = input;
+        this.sound = sound;
+        this.scores = scores;
+        this.eventLog = eventLog;
+    }
+
+    // == public methods
+    public DifficultyLevel getDifficultyLevel() {
+        return difficultyLevel;
+    }
+
+    // the session plays out the same again from the same seed and input
+    public long getSeed() {
+        return seed;
+    }
+
+    // use instead of MathUtils.random, which is shared by the whole process
+    // obstacle spawn positions only
+    public GameRandom getSpawnRandom() {
+        return spawnRandom;
+    }
+
+    // score increments only
+    public GameRandom getScoreRandom() {
+        return scoreRandom;
+    }
+
+    public InputSource getInput() {
+        return input;
+    }
+
+    public SoundSink getSound() {
+        return sound;
+    }
+
+    public ScorePersistence getScores() {
+        return scores;
+    }
+
+    // per step events of the session, EventLog.OFF logs nothing
+    public EventLog getEventLog() {
+        return eventLog;
+    }
+}
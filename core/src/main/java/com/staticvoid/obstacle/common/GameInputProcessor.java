@@ -0,0 +1,82 @@
+package com.staticvoid.obstacle.common;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+// turns arrow keys and touches into timestamped events for the simulation thread
+// called by Gdx.input on the render thread, before the frame is rendered
+// touches are unprojected here, the viewport belongs to the render thread
+public class GameInputProcessor extends InputAdapter {
+
+    // -- attributes --
+    private final InputEventQueue queue;
+    private final Viewport viewport;
+    // reused, unproject works in place
+    private final Vector2 touchPosition = new Vector2();
+
+    // constructor
+    public GameInputProcessor(InputEventQueue queue, Viewport viewport) {
+        if (queue == null) {
+            throw new IllegalArgumentException("Queue param required");
+        }
+
+        if (viewport == null) {
+            throw new IllegalArgumentException("Viewport param required");
+        }
+
+        this.queue = queue;
+        this.viewport = viewport;
+    }
+
+    // == public methods ==
+    @Override
+    public boolean keyDown(int keycode) {
+        if (keycode == Input.Keys.LEFT) {
+            return queue.post(InputEventQueue.LEFT_DOWN, 0f, eventTime());
+        } else if (keycode == Input.Keys.RIGHT) {
+            return queue.post(InputEventQueue.RIGHT_DOWN, 0f, eventTime());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        if (keycode == Input.Keys.LEFT) {
+            return queue.post(InputEventQueue.LEFT_UP, 0f, eventTime());
+        } else if (keycode == Input.Keys.RIGHT) {
+            return queue.post(InputEventQueue.RIGHT_UP, 0f, eventTime());
+        }
+        return false;
+    }
+
+    // first finger only, like Gdx.input.isTouched() did
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        return pointer == 0 && queue.post(InputEventQueue.TOUCH_DOWN, toWorldX(screenX, screenY), eventTime());
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        return pointer == 0 && queue.post(InputEventQueue.TOUCH_DRAGGED, toWorldX(screenX, screenY), eventTime());
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        return pointer == 0 && queue.post(InputEventQueue.TOUCH_UP, toWorldX(screenX, screenY), eventTime());
+    }
+
+    // == private methods ==
+    private float toWorldX(int screenX, int screenY) {
+        return viewport.unproject(touchPosition.set(screenX, screenY)).x;
+    }
+
+    // stamped when the event is handed to us at the start of the frame, the simulation steps
+    // and the latency histogram compare it with System.nanoTime()
+    // Gdx.input.getCurrentEventTime() is not on that clock on every backend (lwjgl reports os event time)
+    private static long eventTime() {
+        return TimeUtils.nanoTime();
+    }
+}
@@ -4,15 +4,27 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.staticvoid.obstacle.ObstacleAvoidGame;
 import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.score.Leaderboard;
+import com.staticvoid.obstacle.util.WriteBehindStore;
 
-public class GameManager {
+// settings live in memory, a WriteBehindStore writes them to disk in the background
+// so neither game over (simulation thread) nor the options screen waits on a file
+// every finished game also goes to the Leaderboard
+// call flush() on pause and dispose() on exit so nothing is lost
+public class GameManager implements ScorePersistence {
 
     public static final GameManager INSTANCE = new GameManager();
 
     private static final String HIGH_SCORE_KEY = "highscore";
     private static final String DIFFICULTY_KEY = "difficulty";
 
-    private Preferences PREFS;
+    private static final String SETTINGS_FILE = "settings.properties";
+    private static final String SCORES_DIRECTORY = "scores";
+    // clicking through the options writes once
+    private static final long WRITE_DELAY_MILLIS = 500;
+
+    private final WriteBehindStore store;
+    private final Leaderboard leaderboard;
     private int highscore;
 
     private DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM; // default
@@ -20,39 +32,81 @@ public class GameManager {
 
     private GameManager() {
         // SINGLETON
-        PREFS = Gdx.app.getPreferences(ObstacleAvoidGame.class.getSimpleName());
-        highscore = PREFS.getInteger(HIGH_SCORE_KEY, 0);
-        String difficultyName = PREFS.getString(DIFFICULTY_KEY,
+        store = new WriteBehindStore(Gdx.files.local(SETTINGS_FILE).file(), WRITE_DELAY_MILLIS);
+        if (!store.contains(HIGH_SCORE_KEY)) {
+            importPreferences();
+        }
+
+        highscore = store.getInteger(HIGH_SCORE_KEY, 0);
+        String difficultyName = store.getString(DIFFICULTY_KEY,
                 DifficultyLevel.MEDIUM.name());
         difficultyLevel = DifficultyLevel.valueOf(difficultyName);
+
+        leaderboard = new Leaderboard(Gdx.files.local(SCORES_DIRECTORY).file());
+    }
+
+    // called from the simulation thread at game over
+    @Override
+    public synchronized void recordGame(DifficultyLevel difficultyLevel, long seed, int score, int ticks) {
+        updateHighScore(score);
+        leaderboard.record(difficultyLevel, seed, score, ticks);
     }
 
-    public void updateHighScore(int score) {
+    public synchronized void updateHighScore(int score) {
         if (score < highscore) {
             return;
         }
 
         highscore = score;
-
-        PREFS.putInteger(HIGH_SCORE_KEY, highscore);
-        // must ALWAYS flush prior to save or it will fail
-        PREFS.flush();
+        store.putInteger(HIGH_SCORE_KEY, highscore);
     }
 
-    public String getHighScoreString() {
+    public synchronized String getHighScoreString() {
         return String.valueOf(highscore);
     }
 
-    public DifficultyLevel getDifficultyLevel() {
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public synchronized DifficultyLevel getDifficultyLevel() {
         return difficultyLevel;
     }
 
-    public void updateDifficulty(DifficultyLevel newDifficultyLevel) {
+    public synchronized void updateDifficulty(DifficultyLevel newDifficultyLevel) {
         if (difficultyLevel == newDifficultyLevel) {
             return;
         } // otherwise,
         difficultyLevel = newDifficultyLevel;
-        PREFS.putString(DIFFICULTY_KEY, difficultyLevel.name());
-        PREFS.flush();
+        store.putString(DIFFICULTY_KEY, difficultyLevel.name());
+    }
+
+    // writes pending changes now, the app may not come back from a pause
+    // one store failing does not keep the other from being written
+    public void flush() {
+        try {
+            store.flush();
+        } finally {
+            leaderboard.flush();
+        }
+    }
+
+    public void dispose() {
+        try {
+            store.dispose();
+        } finally {
+            leaderboard.close();
+        }
+    }
+
+    // settings used to be libGDX Preferences, carry them over once
+    private void importPreferences() {
+        Preferences preferences = Gdx.app.getPreferences(ObstacleAvoidGame.class.getSimpleName());
+        if (preferences.contains(HIGH_SCORE_KEY)) {
+            store.putInteger(HIGH_SCORE_KEY, preferences.getInteger(HIGH_SCORE_KEY, 0));
+        }
+        if (preferences.contains(DIFFICULTY_KEY)) {
+            store.putString(DIFFICULTY_KEY, preferences.getString(DIFFICULTY_KEY));
+        }
     }
 }
@@ -0,0 +1,28 @@
+package com.staticvoid.obstacle.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+
+// plays sounds loaded through the AssetManager
+// called from the simulation thread, the sound is played on the render thread
+// (desktop OpenAL audio is not thread safe), the runnable is reused so nothing is allocated
+public class GdxSoundSink implements SoundSink {
+
+    private final Sound hit;
+    private final Runnable playHit;
+
+    public GdxSoundSink(Sound hit) {
+        this.hit = hit;
+        this.playHit = new Runnable() {
+            @Override
+            public void run() {
+                GdxSoundSink.this.hit.play();
+            }
+        };
+    }
+
+    @Override
+    public void playHit() {
+        Gdx.app.postRunnable(playHit);
+    }
+}
@@ -0,0 +1,94 @@
+package com.staticvoid.obstacle.common;
+
+/*
+* fixed size ring of timestamped input events from one writer thread (render thread,
+* GameInputProcessor) to one reader thread (simulation, EventInputSource)
+* events are kept in preallocated arrays, posting and reading never allocates or locks
+* when the reader falls behind by a full ring new events are dropped and counted
+ */
+public class InputEventQueue {
+
+    public static final int LEFT_DOWN = 0;
+    public static final int LEFT_UP = 1;
+    public static final int RIGHT_DOWN = 2;
+    public static final int RIGHT_UP = 3;
+    // value is the touch position in world units
+    public static final int TOUCH_DOWN = 4;
+    public static final int TOUCH_DRAGGED = 5;
+    public static final int TOUCH_UP = 6;
+
+    // -- attributes --
+    private final int mask;
+    private final int[] types;
+    private final float[] values;
+    private final long[] times;
+
+    // ever increasing, index into the arrays is & mask
+    // written by one side each, volatile publishes the array slots to the other side
+    private volatile int writeCount;
+    private volatile int readCount;
+    private volatile int droppedCount;
+
+    // constructor
+    // capacity -- rounded up to a power of two
+    public InputEventQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        mask = size - 1;
+        types = new int[size];
+        values = new float[size];
+        times = new long[size];
+    }
+
+    // == public methods ==
+    // writer thread, time -- System.nanoTime() clock, false when the ring is full
+    public boolean post(int type, float value, long time) {
+        int write = writeCount;
+        if (write - readCount > mask) {
+            droppedCount++;
+            return false;
+        }
+
+        int index = write & mask;
+        types[index] = type;
+        values[index] = value;
+        times[index] = time;
+        writeCount = write + 1;
+        return true;
+    }
+
+    // reader thread, the peek methods read the oldest event, next() drops it
+    public boolean isEmpty() {
+        return readCount == writeCount;
+    }
+
+    public int peekType() {
+        return types[readCount & mask];
+    }
+
+    public float peekValue() {
+        return values[readCount & mask];
+    }
+
+    public long peekTime() {
+        return times[readCount & mask];
+    }
+
+    public void next() {
+        if (isEmpty()) {
+            throw new IllegalStateException("No event to drop");
+        }
+        readCount++;
+    }
+
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.staticvoid.obstacle.common;
+
+// where a game session reads the player's steering from
+public interface InputSource {
+
+    int MOVE_LEFT = -1;
+    int MOVE_NONE = 0;
+    int MOVE_RIGHT = 1;
+
+    // getTouchX when the screen is not touched
+    float NO_TOUCH = Float.NaN;
+
+    // never steers, e.g. for headless runs
+    InputSource IDLE = new InputSource() {
+        @Override
+        public int getMoveDirection() {
+            return MOVE_NONE;
+        }
+    };
+
+    // MOVE_LEFT, MOVE_NONE or MOVE_RIGHT for the current simulation step
+    int getMoveDirection();
+
+    // world x the player was dragged to, NO_TOUCH (NaN) when not touched, wins over steering
+    default float getTouchX() {
+        return NO_TOUCH;
+    }
+
+    // called by GameSimulation before each step with the System.nanoTime() the step stands for,
+    // event driven sources apply the input that happened up to then
+    default void advanceTo(long nanoTime) {
+    }
+
+    // event time of the newest input applied so far, 0 when there was none
+    // the render thread compares it with when the frame showing it is done, see GameScreen
+    default long getInputTime() {
+        return 0L;
+    }
+}
@@ -0,0 +1,17 @@
+package com.staticvoid.obstacle.common;
+
+import com.staticvoid.obstacle.config.DifficultyLevel;
+
+// where a session stores its finished game
+public interface ScorePersistence {
+
+    // keeps nothing, e.g. for headless runs
+    ScorePersistence DISCARD = new ScorePersistence() {
+        @Override
+        public void recordGame(DifficultyLevel difficultyLevel, long seed, int score, int ticks) {
+        }
+    };
+
+    // called once at game over, ticks -- simulation steps the game lasted
+    void recordGame(DifficultyLevel difficultyLevel, long seed, int score, int ticks);
+}
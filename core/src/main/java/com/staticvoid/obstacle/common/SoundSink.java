@@ -0,0 +1,14 @@
+package com.staticvoid.obstacle.common;
+
+// game sounds a session can trigger
+public interface SoundSink {
+
+    // plays nothing, e.g. for headless runs
+    SoundSink SILENT = new SoundSink() {
+        @Override
+        public void playHit() {
+        }
+    };
+
+    void playHit();
+}
@@ -17,16 +17,22 @@ public class GameConfig {
     public static final float WORLD_CENTER_X = WORLD_WIDTH / 2f; // world units
     public static final float WORLD_CENTER_Y = WORLD_HEIGHT / 2f; // world units
 
-    public static final float MAX_PLAYER_X_SPEED = 0.25f; // max player speed
+    // simulation runs at a fixed tick rate, independent of the render rate
+    public static final int SIM_TICKS_PER_SECOND = 60; // ticks per second
+    public static final int MAX_SIM_STEPS_PER_FRAME = 5; // catch up cap per rendered frame
+
+    // speeds are world units per second, scaled by the fixed step time
+    public static final float MAX_PLAYER_X_SPEED = 15f; // max player speed
 
     public static final float OBSTACLE_SPAWN_TIME = 0.25f; // spawn interval
 
     public static final float SCORE_MAX_TIME = 1.25f; // update score interval
     public static final int LIVES_START = 3; // starting lives
+    public static final float DISPLAY_SCORE_RATE = 60f; // displayed points per second
 
-    public static final float EASY_OBSTACLE_SPEED = 0.1f;
-    public static final float MEDIUM_OBSTACLE_SPEED = .15f;
-    public static final float HARD_OBSTACLE_SPEED = .18f;
+    public static final float EASY_OBSTACLE_SPEED = 6f;
+    public static final float MEDIUM_OBSTACLE_SPEED = 9f;
+    public static final float HARD_OBSTACLE_SPEED = 10.8f;
 
     // all world units
     public static final float PLAYER_BOUNDS_RADIUS = 0.4f; // world units
@@ -34,6 +40,13 @@ public class GameConfig {
 
     public static final float OBSTACLE_BOUNDS_RADIUS = 0.3f; // world units
     public static final float OBSTACLE_SIZE = 2 * OBSTACLE_BOUNDS_RADIUS;
+    public static final int OBSTACLE_CAPACITY = 40; // initial obstacle store capacity, grows if needed
+
+    public static final float BROADPHASE_CELL_SIZE = 1f; // world units, spatial hash cell size
+
+    // below this many obstacles a step or frame runs on one thread, waking workers costs more
+    public static final int PARALLEL_OBSTACLE_THRESHOLD = 4096;
+    public static final int PARALLEL_MIN_CHUNK = 2048; // obstacles per job chunk at least
 
     private GameConfig() {
         // private constructor - don't instantiate
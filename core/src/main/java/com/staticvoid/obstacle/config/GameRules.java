@@ -0,0 +1,63 @@
+package com.staticvoid.obstacle.config;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.staticvoid.obstacle.util.GameRandom;
+
+// what a game step does with the GameConfig values, in one place for both classes that step games:
+// GameController, and VectorEnv (headless) which plays many games in flat arrays for bots
+// VectorEnvCheck plays both side by side and fails on the first difference
+public class GameRules {
+
+    // see videos 85-95 for positioning direction
+    public static final float START_PLAYER_X = (GameConfig.WORLD_WIDTH - GameConfig.PLAYER_SIZE) / 2f; // 2.6
+    public static final float START_PLAYER_Y = 1 - GameConfig.PLAYER_SIZE / 2f; // .6
+    public static final float MAX_PLAYER_X = GameConfig.WORLD_WIDTH - GameConfig.PLAYER_SIZE;
+
+    // obstacles spawn at the top edge and are removed once they left at the bottom
+    public static final float MAX_OBSTACLE_X = GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE;
+    public static final float OBSTACLE_START_Y = GameConfig.WORLD_HEIGHT;
+    public static final float MIN_OBSTACLE_Y = -GameConfig.OBSTACLE_SIZE; // 0 end of bottom world bounds
+
+    private GameRules() {
+        // private constructor - don't instantiate
+    }
+
+    // player x after a step steering in direction (-1, 0 or 1), kept inside the world
+    public static float movePlayerX(float x, int direction, float deltaTime) {
+        float xSpeed = direction * GameConfig.MAX_PLAYER_X_SPEED;
+        return clampPlayerX(x + xSpeed * deltaTime);
+    }
+
+    public static float clampPlayerX(float x) {
+        return MathUtils.clamp(x, 0, MAX_PLAYER_X);
+    }
+
+    // obstacleTimer -- time since the last spawn, this step included
+    public static boolean isSpawnDue(float obstacleTimer) {
+        return obstacleTimer > GameConfig.OBSTACLE_SPAWN_TIME;
+    }
+
+    public static float nextObstacleX(GameRandom spawnRandom) {
+        return spawnRandom.nextFloat() * MAX_OBSTACLE_X;
+    }
+
+    // scoreTimer -- time since the last points, this step included
+    public static boolean isScoreDue(float scoreTimer) {
+        return scoreTimer >= GameConfig.SCORE_MAX_TIME;
+    }
+
+    // score is added at random intervals, min 1, max 5, inclusive
+    public static int nextPoints(GameRandom scoreRandom) {
+        return 1 + scoreRandom.nextInt(5);
+    }
+
+    // obstacle bounds given by the bottom left corner like ObstacleStore, the circle by its center
+    // same test as Intersector.overlaps(Circle, Circle)
+    public static boolean overlaps(float obstacleX, float obstacleY, float obstacleRadius,
+                                   float circleX, float circleY, float circleRadius) {
+        float dx = obstacleX + obstacleRadius - circleX;
+        float dy = obstacleY + obstacleRadius - circleY;
+        float radiusSum = obstacleRadius + circleRadius;
+        return dx * dx + dy * dy < radiusSum * radiusSum;
+    }
+}
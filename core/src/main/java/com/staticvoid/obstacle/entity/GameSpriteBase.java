@@ -12,6 +12,10 @@ public abstract class GameSpriteBase extends Sprite {
     // == attributes
     protected Circle bounds;
 
+    // position at the start of the current simulation step, for interpolation
+    private float previousX;
+    private float previousY;
+
     // we used Circle for custom bounds
     // alternatively for rectangular collision detection you can use -->
 //    @Override
@@ -20,8 +24,15 @@ public abstract class GameSpriteBase extends Sprite {
 //    }
 
     // == Constructors
+    // region may be null when the sprite is never drawn (headless simulation)
     public GameSpriteBase(TextureRegion region, float boundsRadius) {
-        super(region);
+        super();
+        if (region != null) {
+            // same as Sprite(TextureRegion)
+            setRegion(region);
+            setSize(region.getRegionWidth(), region.getRegionHeight());
+            setOrigin(getWidth() / 2f, getHeight() / 2f);
+        }
         bounds = new Circle(getX(), getY(), boundsRadius);
     }
 
@@ -59,6 +70,29 @@ public abstract class GameSpriteBase extends Sprite {
         bounds.setPosition(getX() + halfWidth, getY() + halfHeight);
     }
 
+    // call at the start of each simulation step, before moving
+    public void savePreviousPosition() {
+        previousX = getX();
+        previousY = getY();
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
+
+    // alpha is how far the renderer is between the previous and current step
+    public float getInterpolatedX(float alpha) {
+        return previousX + (getX() - previousX) * alpha;
+    }
+
+    public float getInterpolatedY(float alpha) {
+        return previousY + (getY() - previousY) * alpha;
+    }
+
     public void drawDebug(ShapeRenderer renderer) {
         renderer.x(bounds.x, bounds.y, 0.1f);
         renderer.circle(bounds.x, bounds.y, bounds.radius, 30);
@@ -29,8 +29,9 @@ public class ObstacleSprite extends GameSpriteBase implements Pool.Poolable {
 //        super.setRegion(texture);
 //    }
 
-    public void update() {
-        setY(getY() - ySpeed);
+    // ySpeed is world units per second, deltaTime is the fixed step time
+    public void update(float deltaTime) {
+        setY(getY() - ySpeed * deltaTime);
        // updateBounds();
     }
 
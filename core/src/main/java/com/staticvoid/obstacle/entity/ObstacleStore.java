@@ -0,0 +1,212 @@
+package com.staticvoid.obstacle.entity;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.config.GameRules;
+
+import java.util.Arrays;
+
+// all live obstacles kept as parallel primitive arrays (structure of arrays)
+// index i in every array is the same obstacle, there is no per obstacle object
+// x and y are the bottom left corner, same as Sprite, bounds are a circle in the middle
+public class ObstacleStore {
+
+    // == attributes
+    private float[] x;
+    private float[] y;
+    private float[] previousY;
+    private float[] ySpeed;
+    private float[] radius;
+    private boolean[] hit;
+
+    private int size;
+    // bumped whenever obstacles are added or removed, indices may have changed
+    private int modCount;
+
+    // constructor
+    public ObstacleStore(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+
+        x = new float[initialCapacity];
+        y = new float[initialCapacity];
+        previousY = new float[initialCapacity];
+        ySpeed = new float[initialCapacity];
+        radius = new float[initialCapacity];
+        hit = new boolean[initialCapacity];
+    }
+
+    // == public methods
+    // returns the index of the new obstacle
+    public int add(float obstacleX, float obstacleY, float obstacleYSpeed, float boundsRadius) {
+        if (size == x.length) {
+            grow();
+        }
+
+        modCount++;
+        int index = size++;
+        x[index] = obstacleX;
+        y[index] = obstacleY;
+        previousY[index] = obstacleY;
+        ySpeed[index] = obstacleYSpeed;
+        radius[index] = boundsRadius;
+        hit[index] = false;
+        return index;
+    }
+
+    // moves every obstacle down, ySpeed is world units per second
+    public void update(float deltaTime) {
+        update(deltaTime, 0, size);
+    }
+
+    // same for the obstacles from (inclusive) to (exclusive), ranges may run in parallel
+    public void update(float deltaTime, int from, int to) {
+        for (int i = from; i < to; i++) {
+            previousY[i] = y[i];
+            y[i] -= ySpeed[i] * deltaTime;
+        }
+    }
+
+    // index of the first obstacle not hit yet whose bounds overlap the circle, -1 if none
+    // same test as Intersector.overlaps(Circle, Circle)
+    public int findFirstCollision(float circleX, float circleY, float circleRadius) {
+        for (int i = 0; i < size; i++) {
+            if (!hit[i] && overlaps(i, circleX, circleY, circleRadius)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // fills result with every obstacle whose bounds square overlaps the rectangle, ascending
+    public void findInRect(float minX, float minY, float maxX, float maxY, IntArray result) {
+        result.clear();
+        for (int i = 0; i < size; i++) {
+            if (overlapsRect(i, minX, minY, maxX, maxY)) {
+                result.add(i);
+            }
+        }
+    }
+
+    // bounds square is what the sprite covers, touching edges count as overlap
+    public boolean overlapsRect(int index, float minX, float minY, float maxX, float maxY) {
+        float size = 2 * radius[index];
+        return x[index] <= maxX && x[index] + size >= minX
+                && y[index] <= maxY && y[index] + size >= minY;
+    }
+
+    public boolean overlaps(int index, float circleX, float circleY, float circleRadius) {
+        return GameRules.overlaps(x[index], y[index], radius[index], circleX, circleY, circleRadius);
+    }
+
+    // removes obstacles whose y is below minY, keeps the order of the rest
+    // returns how many were removed
+    public int removeBelow(float minY) {
+        int kept = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (y[i] < minY) {
+                continue;
+            }
+
+            if (kept != i) {
+                x[kept] = x[i];
+                y[kept] = y[i];
+                previousY[kept] = previousY[i];
+                ySpeed[kept] = ySpeed[i];
+                radius[kept] = radius[i];
+                hit[kept] = hit[i];
+            }
+            kept++;
+        }
+
+        int removed = size - kept;
+        size = kept;
+        if (removed > 0) {
+            modCount++;
+        }
+        return removed;
+    }
+
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    // copies every obstacle of other, same indices, e.g. into a snapshot for another thread
+    // modCount is copied too, it only grows in the source, so equal counts still mean same indices
+    public void set(ObstacleStore other) {
+        while (x.length < other.size) {
+            grow();
+        }
+
+        int count = other.size;
+        System.arraycopy(other.x, 0, x, 0, count);
+        System.arraycopy(other.y, 0, y, 0, count);
+        System.arraycopy(other.previousY, 0, previousY, 0, count);
+        System.arraycopy(other.ySpeed, 0, ySpeed, 0, count);
+        System.arraycopy(other.radius, 0, radius, 0, count);
+        System.arraycopy(other.hit, 0, hit, 0, count);
+
+        size = count;
+        modCount = other.modCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // x and radius never change after add, so an index sorted by x stays valid until this changes
+    public int getModCount() {
+        return modCount;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    // alpha is how far the renderer is between the previous and current step
+    public float getInterpolatedY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public float getCenterX(int index) {
+        return x[index] + radius[index];
+    }
+
+    public float getCenterY(int index) {
+        return y[index] + radius[index];
+    }
+
+    public float getRadius(int index) {
+        return radius[index];
+    }
+
+    // width and height of the texture, bounds fill the square
+    public float getSize(int index) {
+        return 2 * radius[index];
+    }
+
+    public boolean isHit(int index) {
+        return hit[index];
+    }
+
+    public void setHit(int index) {
+        hit[index] = true;
+    }
+
+    // == private methods
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        ySpeed = Arrays.copyOf(ySpeed, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        hit = Arrays.copyOf(hit, capacity);
+    }
+}
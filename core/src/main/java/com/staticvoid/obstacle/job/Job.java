@@ -0,0 +1,93 @@
+package com.staticvoid.obstacle.job;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* one piece of per frame work in a JobGraph, created once and run every frame
+* runs on whichever thread picks it up, after all jobs it depends on finished
+ */
+public abstract class Job extends Task {
+
+    // -- attributes --
+    private final String name;
+    private final AtomicInteger pendingDependencies = new AtomicInteger();
+
+    private Job[] dependents = new Job[2];
+    private int dependentCount;
+    private int dependencyCount;
+
+    JobGraph graph;
+
+    // constructor
+    protected Job(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name param required");
+        }
+        this.name = name;
+    }
+
+    // == public methods ==
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    // == protected methods ==
+    protected abstract void execute();
+
+    // == package methods ==
+    void addDependent(Job job) {
+        if (dependentCount == dependents.length) {
+            Job[] grown = new Job[dependents.length * 2];
+            System.arraycopy(dependents, 0, grown, 0, dependentCount);
+            dependents = grown;
+        }
+        dependents[dependentCount++] = job;
+        job.dependencyCount++;
+    }
+
+    int getDependentCount() {
+        return dependentCount;
+    }
+
+    Job getDependent(int index) {
+        return dependents[index];
+    }
+
+    int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    void reset() {
+        pendingDependencies.set(dependencyCount);
+    }
+
+    // true when that was the last one and the job can run now
+    boolean dependencyFinished() {
+        return pendingDependencies.decrementAndGet() == 0;
+    }
+
+    // all dependencies are done, RangeJob splits itself here
+    void schedule(JobSystem system) {
+        system.submit(this);
+    }
+
+    // single threaded, no JobSystem
+    void runInline() {
+        execute();
+    }
+
+    @Override
+    void run() {
+        try {
+            execute();
+        } catch (Throwable t) {
+            graph.fail(this, t);
+        }
+        graph.jobFinished(this);
+    }
+}
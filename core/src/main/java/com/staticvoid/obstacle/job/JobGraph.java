@@ -0,0 +1,133 @@
+package com.staticvoid.obstacle.job;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* per frame work declared once as jobs with dependencies, run as often as needed
+* a job only starts after everything it depends on finished, independent jobs run in
+* parallel on the JobSystem workers while the calling thread helps instead of waiting
+* dependencies must be added before the jobs that need them, so the order jobs
+* were added in is always a valid order to run them one after another
+ */
+public class JobGraph {
+
+    // -- attributes --
+    private final Array<Job> jobs = new Array<>(16);
+    private final AtomicInteger remainingJobs = new AtomicInteger();
+
+    private JobSystem system;
+    private volatile Job failedJob;
+    private volatile Throwable failure;
+
+    // == public methods ==
+    // returns job, dependencies must already be in this graph
+    public <T extends Job> T add(T job, Job... dependencies) {
+        if (job.graph != null) {
+            throw new IllegalArgumentException("Job already in a graph: " + job);
+        }
+
+        for (Job dependency : dependencies) {
+            if (dependency.graph != this) {
+                throw new IllegalArgumentException("Dependency " + dependency + " must be added before " + job);
+            }
+        }
+
+        job.graph = this;
+        for (Job dependency : dependencies) {
+            dependency.addDependent(job);
+        }
+        jobs.add(job);
+        return job;
+    }
+
+    // runs every job once and returns when all finished
+    // null or a system without workers runs them in order on this thread
+    public void run(JobSystem system) {
+        if (system == null || system.getWorkerCount() == 0) {
+            for (int i = 0; i < jobs.size; i++) {
+                jobs.get(i).runInline();
+            }
+            return;
+        }
+
+        if (this.system != null) {
+            throw new IllegalStateException("Graph is already running");
+        }
+
+        this.system = system;
+        failedJob = null;
+        failure = null;
+        remainingJobs.set(jobs.size);
+
+        try {
+            int chunks = system.getWorkerCount() + 1;
+            for (int i = 0; i < jobs.size; i++) {
+                Job job = jobs.get(i);
+                job.reset();
+                if (job instanceof RangeJob) {
+                    ((RangeJob) job).ensureChunks(chunks);
+                }
+            }
+
+            for (int i = 0; i < jobs.size; i++) {
+                Job job = jobs.get(i);
+                if (job.getDependencyCount() == 0) {
+                    schedule(job);
+                }
+            }
+
+            system.helpUntilDone(this);
+        } finally {
+            this.system = null;
+        }
+
+        Throwable error = failure;
+        if (error != null) {
+            throw new GdxRuntimeException("Job failed: " + failedJob, error);
+        }
+    }
+
+    public int size() {
+        return jobs.size;
+    }
+
+    // == package methods ==
+    boolean isDone() {
+        return remainingJobs.get() == 0;
+    }
+
+    // dependents are scheduled before the job counts as done, so the graph can't
+    // finish with work still unscheduled
+    void jobFinished(Job job) {
+        for (int i = 0; i < job.getDependentCount(); i++) {
+            Job dependent = job.getDependent(i);
+            if (dependent.dependencyFinished()) {
+                schedule(dependent);
+            }
+        }
+        remainingJobs.decrementAndGet();
+    }
+
+    // first failure wins, the rest of the graph still runs so nobody waits forever
+    void fail(Job job, Throwable t) {
+        if (failure == null) {
+            failedJob = job;
+            failure = t;
+        }
+    }
+
+    // == private methods ==
+    // scheduling runs RangeJob.begin and getRangeSize, often on a worker, a job failing there
+    // never runs but counts as finished like one that failed running, the graph still ends
+    private void schedule(Job job) {
+        try {
+            job.schedule(system);
+        } catch (Throwable t) {
+            fail(job, t);
+            jobFinished(job);
+        }
+    }
+}
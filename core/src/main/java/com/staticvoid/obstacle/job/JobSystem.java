@@ -0,0 +1,175 @@
+package com.staticvoid.obstacle.job;
+
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.concurrent.locks.LockSupport;
+
+/*
+* fixed pool of worker threads running JobGraphs, each worker has its own deque and
+* steals from the others when it runs dry, threads that run a graph help out until
+* it is done, so a system with no workers simply runs everything on the caller
+* allocates nothing per frame, jobs and their chunks are created up front
+ */
+public class JobSystem implements Disposable {
+
+    private static final int DEQUE_CAPACITY = 64;
+    // idle workers are woken on submit, the timeout only covers a wake up that was missed
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    // render and simulation thread are busy already, they help with their own graphs
+    private static final int RESERVED_THREADS = 2;
+
+    // -- attributes --
+    private final Worker[] workers;
+    // tasks submitted by threads that are not workers
+    private final WorkDeque shared = new WorkDeque(DEQUE_CAPACITY);
+
+    private volatile boolean running = true;
+
+    // constructor
+    public JobSystem(int workerCount) {
+        if (workerCount < 0) {
+            throw new IllegalArgumentException("workerCount must not be negative");
+        }
+
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    // one worker per core not taken by the render and simulation threads
+    public static int defaultWorkerCount() {
+        return Math.max(0, Runtime.getRuntime().availableProcessors() - RESERVED_THREADS);
+    }
+
+    // == public methods ==
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    @Override
+    public void dispose() {
+        running = false;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // == package methods ==
+    void submit(Task task) {
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).getSystem() == this) {
+            ((Worker) current).deque.push(task);
+        } else {
+            shared.push(task);
+        }
+        wakeIdleWorker();
+    }
+
+    // the calling thread runs tasks (of any graph) until this graph finished
+    void helpUntilDone(JobGraph graph) {
+        Thread current = Thread.currentThread();
+        Worker self = current instanceof Worker && ((Worker) current).getSystem() == this
+                ? (Worker) current : null;
+
+        while (!graph.isDone()) {
+            Task task = findTask(self);
+            if (task != null) {
+                task.run();
+            } else {
+                // the last tasks are running elsewhere and take microseconds
+                // (yield, Thread.onSpinWait is Java 9 and not on Android)
+                Thread.yield();
+            }
+        }
+    }
+
+    // == private methods ==
+    // own deque first, then what other threads submitted, then steal from the others
+    private Task findTask(Worker self) {
+        Task task;
+        if (self != null) {
+            task = self.deque.pop();
+            if (task != null) {
+                return task;
+            }
+        }
+
+        task = shared.steal();
+        if (task != null) {
+            return task;
+        }
+
+        int start = self != null ? self.index + 1 : 0;
+        for (int i = 0; i < workers.length; i++) {
+            Worker victim = workers[(start + i) % workers.length];
+            if (victim != self) {
+                task = victim.deque.steal();
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void wakeIdleWorker() {
+        for (Worker worker : workers) {
+            if (worker.idle) {
+                worker.idle = false;
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    private final class Worker extends Thread {
+        private final int index;
+        private final WorkDeque deque = new WorkDeque(DEQUE_CAPACITY);
+        private volatile boolean idle;
+
+        Worker(int index) {
+            super("job-worker-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        JobSystem getSystem() {
+            return JobSystem.this;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Task task = findTask(this);
+                if (task != null) {
+                    task.run();
+                    continue;
+                }
+
+                idle = true;
+                // a task may have come in between the search and going idle
+                task = findTask(this);
+                if (task != null) {
+                    idle = false;
+                    task.run();
+                    continue;
+                }
+
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                idle = false;
+            }
+        }
+    }
+}
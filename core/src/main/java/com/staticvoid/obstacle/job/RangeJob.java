@@ -0,0 +1,107 @@
+package com.staticvoid.obstacle.job;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* a job over an index range (obstacles, quads) that is split into chunks when it is
+* big enough, one chunk per worker at most, every chunk at least minChunkSize long
+* chunks are only created when the JobSystem gets more workers, not per frame
+ */
+public abstract class RangeJob extends Job {
+
+    // -- attributes --
+    private final int minChunkSize;
+    private final AtomicInteger remainingChunks = new AtomicInteger();
+
+    private Chunk[] chunks = new Chunk[0];
+
+    // constructor
+    protected RangeJob(String name, int minChunkSize) {
+        super(name);
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("minChunkSize must be positive");
+        }
+        this.minChunkSize = minChunkSize;
+    }
+
+    // == protected methods ==
+    // read once when the job becomes ready, jobs it depends on may have changed it
+    protected abstract int getRangeSize();
+
+    // from inclusive, to exclusive, chunks of one job may run at the same time
+    protected abstract void execute(int from, int to);
+
+    // called once per run before any chunk, on the scheduling thread
+    protected void begin() {
+    }
+
+    @Override
+    protected final void execute() {
+        execute(0, getRangeSize());
+    }
+
+    // == package methods ==
+    void ensureChunks(int count) {
+        if (chunks.length >= count) {
+            return;
+        }
+
+        Chunk[] grown = new Chunk[count];
+        System.arraycopy(chunks, 0, grown, 0, chunks.length);
+        for (int i = chunks.length; i < count; i++) {
+            grown[i] = new Chunk();
+        }
+        chunks = grown;
+    }
+
+    // begin and getRangeSize may throw, they run before any chunk is submitted
+    @Override
+    void schedule(JobSystem system) {
+        begin();
+
+        int size = getRangeSize();
+        int chunkCount = Math.min(chunks.length, size / minChunkSize);
+
+        if (chunkCount <= 1) {
+            system.submit(this);
+            return;
+        }
+
+        remainingChunks.set(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            // same share for every chunk, the remainder spread over them
+            Chunk chunk = chunks[i];
+            chunk.from = (int) ((long) size * i / chunkCount);
+            chunk.to = (int) ((long) size * (i + 1) / chunkCount);
+            system.submit(chunk);
+        }
+    }
+
+    @Override
+    void runInline() {
+        begin();
+        execute();
+    }
+
+    // == private methods ==
+    private void chunkFinished() {
+        if (remainingChunks.decrementAndGet() == 0) {
+            graph.jobFinished(this);
+        }
+    }
+
+    private final class Chunk extends Task {
+        private int from;
+        private int to;
+
+        @Override
+        void run() {
+            try {
+                execute(from, to);
+            } catch (Throwable t) {
+                graph.fail(RangeJob.this, t);
+            }
+            chunkFinished();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.staticvoid.obstacle.job;
+
+// what the work deques hold, a whole Job or one chunk of a RangeJob
+abstract class Task {
+
+    // never throws, failures are handed to the job's graph
+    abstract void run();
+}
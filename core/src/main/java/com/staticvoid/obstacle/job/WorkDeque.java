@@ -0,0 +1,64 @@
+package com.staticvoid.obstacle.job;
+
+/*
+* tasks of one worker, the owner pushes and pops at the bottom (newest first, still warm
+* in its cache), idle workers steal from the top (oldest first)
+* critical sections are a few field writes, a lock is plenty at a handful of threads
+ */
+class WorkDeque {
+
+    // -- attributes --
+    private Task[] tasks;
+    private int top;
+    private int size;
+
+    // constructor
+    WorkDeque(int initialCapacity) {
+        tasks = new Task[initialCapacity];
+    }
+
+    // == package methods ==
+    synchronized void push(Task task) {
+        if (size == tasks.length) {
+            grow();
+        }
+        tasks[(top + size) % tasks.length] = task;
+        size++;
+    }
+
+    // owner side, null when empty
+    synchronized Task pop() {
+        if (size == 0) {
+            return null;
+        }
+
+        size--;
+        int index = (top + size) % tasks.length;
+        Task task = tasks[index];
+        tasks[index] = null;
+        return task;
+    }
+
+    // thief side, null when empty
+    synchronized Task steal() {
+        if (size == 0) {
+            return null;
+        }
+
+        Task task = tasks[top];
+        tasks[top] = null;
+        top = (top + 1) % tasks.length;
+        size--;
+        return task;
+    }
+
+    // == private methods ==
+    private void grow() {
+        Task[] grown = new Task[tasks.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = tasks[(top + i) % tasks.length];
+        }
+        tasks = grown;
+        top = 0;
+    }
+}
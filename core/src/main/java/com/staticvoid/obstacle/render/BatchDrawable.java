@@ -0,0 +1,13 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+
+// anything other than a plain region that can go through the render queue, cached text for example
+public interface BatchDrawable {
+
+    // texture the draw call binds, used to group submissions
+    Texture getTexture();
+
+    void draw(Batch batch);
+}
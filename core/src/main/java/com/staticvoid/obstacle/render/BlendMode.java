@@ -0,0 +1,7 @@
+package com.staticvoid.obstacle.render;
+
+// opaque sprites are drawn first within a layer, with blending off they cost no read back
+public enum BlendMode {
+    OPAQUE,
+    ALPHA
+}
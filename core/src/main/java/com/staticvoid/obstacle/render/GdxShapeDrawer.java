@@ -0,0 +1,115 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ImmediateModeRenderer20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.ObjectMap;
+
+// ShapeDrawer on a ShapeRenderer, LineLists are kept in static meshes
+// and only uploaded again when their version changed
+public class GdxShapeDrawer implements ShapeDrawer {
+
+    // -- attributes --
+    private final ShapeRenderer renderer = new ShapeRenderer();
+    private final ShaderProgram lineShader = ImmediateModeRenderer20.createDefaultShader(false, true, 0);
+    private final ObjectMap<LineList, CachedLines> cachedLines = new ObjectMap<LineList, CachedLines>();
+    private final Color oldColor = new Color();
+
+    private Matrix4 projection;
+
+    // == public methods ==
+    @Override
+    public void begin(Matrix4 projection) {
+        this.projection = projection;
+        oldColor.set(renderer.getColor());
+        renderer.setProjectionMatrix(projection);
+        renderer.begin(ShapeRenderer.ShapeType.Line);
+    }
+
+    @Override
+    public void setColor(Color color) {
+        renderer.setColor(color);
+    }
+
+    @Override
+    public void line(float x1, float y1, float x2, float y2) {
+        renderer.line(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void x(float x, float y, float size) {
+        renderer.x(x, y, size);
+    }
+
+    @Override
+    public void circle(float x, float y, float radius, int segments) {
+        renderer.circle(x, y, radius, segments);
+    }
+
+    @Override
+    public void lines(LineList lines) {
+        if (lines.getVertexCount() == 0) {
+            return;
+        }
+
+        // keeps the order with the shapes drawn so far, ShapeRenderer binds its shader again on flush
+        renderer.flush();
+
+        CachedLines cached = cachedLines.get(lines);
+        if (cached == null) {
+            cached = new CachedLines();
+            cachedLines.put(lines, cached);
+        }
+        cached.upload(lines);
+
+        lineShader.bind();
+        lineShader.setUniformMatrix("u_projModelView", projection);
+        cached.mesh.render(lineShader, GL20.GL_LINES, 0, lines.getVertexCount());
+    }
+
+    @Override
+    public void end() {
+        renderer.end();
+        renderer.setColor(oldColor);
+    }
+
+    @Override
+    public void dispose() {
+        renderer.dispose();
+        lineShader.dispose();
+        for (CachedLines cached : cachedLines.values()) {
+            cached.mesh.dispose();
+        }
+        cachedLines.clear();
+    }
+
+    // mesh holding one LineList
+    private static final class CachedLines {
+        private Mesh mesh;
+        private int version = -1;
+
+        private void upload(LineList lines) {
+            if (mesh != null && version == lines.getVersion()) {
+                return;
+            }
+
+            if (mesh == null || mesh.getMaxVertices() < lines.getVertexCount()) {
+                if (mesh != null) {
+                    mesh.dispose();
+                }
+                mesh = new Mesh(true, lines.getVertexCount(), 0,
+                        new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                        VertexAttribute.ColorPacked());
+            }
+
+            mesh.setVertices(lines.getVertices(), 0, lines.getVertexCount() * LineList.VERTEX_SIZE);
+            version = lines.getVersion();
+        }
+    }
+}
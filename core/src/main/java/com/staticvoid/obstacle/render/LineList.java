@@ -0,0 +1,64 @@
+package com.staticvoid.obstacle.render;
+
+import java.util.Arrays;
+
+/*
+* prebuilt colored lines, x, y, packed color per vertex, two vertices per line
+* the version goes up on every change, so a ShapeDrawer can keep them on the gpu until then
+ */
+public class LineList {
+
+    public static final int VERTEX_SIZE = 3;
+
+    // -- attributes --
+    private float[] vertices;
+    private int vertexCount;
+    private int version;
+
+    // constructor
+    public LineList(int initialLineCapacity) {
+        if (initialLineCapacity <= 0) {
+            throw new IllegalArgumentException("initialLineCapacity must be positive");
+        }
+
+        vertices = new float[initialLineCapacity * 2 * VERTEX_SIZE];
+    }
+
+    // == public methods ==
+    public void clear() {
+        vertexCount = 0;
+        version++;
+    }
+
+    public void add(float x1, float y1, float x2, float y2, float packedColor) {
+        if ((vertexCount + 2) * VERTEX_SIZE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+
+        int i = vertexCount * VERTEX_SIZE;
+        vertices[i] = x1;
+        vertices[i + 1] = y1;
+        vertices[i + 2] = packedColor;
+        vertices[i + 3] = x2;
+        vertices[i + 4] = y2;
+        vertices[i + 5] = packedColor;
+        vertexCount += 2;
+        version++;
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getLineCount() {
+        return vertexCount / 2;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,87 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.job.JobGraph;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.job.RangeJob;
+
+/*
+* draws all obstacles with a single Batch.draw(texture, vertices, ...) call
+* quads come from ObstacleQuadWriter, no per obstacle draw call or Sprite
+* with QuadMeshBatch a large obstacle count still ends up as one mesh draw
+* with a JobSystem, large obstacle counts are written in parallel chunks
+ */
+public class ObstacleQuadRenderer implements BatchDrawable {
+
+    // -- attributes --
+    private final Texture texture;
+    private final ObstacleQuadWriter writer;
+    private final JobGraph writeGraph = new JobGraph();
+
+    private JobSystem jobs;
+
+    // what the current update writes, read by the write job
+    private ObstacleStore obstacles;
+    private IntArray indices;
+    private float alpha;
+
+    // constructor
+    public ObstacleQuadRenderer(TextureRegion region, int initialCapacity) {
+        this.texture = region.getTexture();
+        this.writer = new ObstacleQuadWriter(region, initialCapacity);
+
+        writeGraph.add(new RangeJob("write obstacle quads", GameConfig.PARALLEL_MIN_CHUNK) {
+            @Override
+            protected int getRangeSize() {
+                return indices.size;
+            }
+
+            @Override
+            protected void execute(int from, int to) {
+                writer.write(obstacles, indices, alpha, from, to);
+            }
+        });
+    }
+
+    // == public methods ==
+    // call before submitting to the queue, positions are taken at alpha
+    public void update(ObstacleStore obstacles, IntArray indices, float alpha) {
+        if (jobs == null || indices.size < GameConfig.PARALLEL_OBSTACLE_THRESHOLD) {
+            writer.write(obstacles, indices, alpha);
+            return;
+        }
+
+        this.obstacles = obstacles;
+        this.indices = indices;
+        this.alpha = alpha;
+
+        writer.begin(indices.size);
+        writeGraph.run(jobs);
+
+        this.obstacles = null;
+        this.indices = null;
+    }
+
+    // null writes everything on the calling thread
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    @Override
+    public Texture getTexture() {
+        return texture;
+    }
+
+    @Override
+    public void draw(Batch batch) {
+        int quads = writer.getQuadCount();
+        if (quads > 0) {
+            batch.draw(texture, writer.getVertices(), 0, quads * ObstacleQuadWriter.QUAD_SIZE);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+/*
+* writes one textured quad per obstacle straight from the ObstacleStore arrays
+* vertex layout is the one SpriteBatch uses:  x, y, packed color, u, v
+* no GL here, ObstacleQuadRenderer hands the result to the batch (QuadMeshBatch uploads it)
+ */
+public class ObstacleQuadWriter {
+
+    public static final int VERTEX_SIZE = 5;
+    public static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+    private static final float COLOR = Color.WHITE_FLOAT_BITS;
+
+    // -- attributes --
+    private final float u;
+    private final float v;
+    private final float u2;
+    private final float v2;
+
+    private float[] vertices;
+    private int quadCount;
+
+    // constructor
+    public ObstacleQuadWriter(TextureRegion region, int initialCapacity) {
+        if (region == null) {
+            throw new IllegalArgumentException("Region param required");
+        }
+
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+
+        u = region.getU();
+        v = region.getV();
+        u2 = region.getU2();
+        v2 = region.getV2();
+        vertices = new float[initialCapacity * QUAD_SIZE];
+    }
+
+    // == public methods ==
+    // one quad per index in indices, at the interpolated position, returns the quad count
+    public int write(ObstacleStore obstacles, IntArray indices, float alpha) {
+        int count = begin(indices.size);
+        write(obstacles, indices, alpha, 0, count);
+        return count;
+    }
+
+    // room for count quads, then write(..., from, to) the ranges, in parallel if wanted
+    public int begin(int count) {
+        if (count * QUAD_SIZE > vertices.length) {
+            vertices = new float[Math.max(count, vertices.length / QUAD_SIZE * 2) * QUAD_SIZE];
+        }
+        quadCount = count;
+        return count;
+    }
+
+    // quads for indices from (inclusive) to (exclusive), at the same place write() puts them
+    public void write(ObstacleStore obstacles, IntArray indices, float alpha, int from, int to) {
+        float[] vertices = this.vertices;
+        int[] items = indices.items;
+        int idx = from * QUAD_SIZE;
+
+        for (int k = from; k < to; k++) {
+            int i = items[k];
+            float size = obstacles.getSize(i);
+            float x = obstacles.getX(i);
+            float y = obstacles.getInterpolatedY(i, alpha);
+            float x2 = x + size;
+            float y2 = y + size;
+
+            // same corner order and uv mapping as SpriteBatch.draw(region, x, y, width, height)
+            vertices[idx] = x;
+            vertices[idx + 1] = y;
+            vertices[idx + 2] = COLOR;
+            vertices[idx + 3] = u;
+            vertices[idx + 4] = v2;
+
+            vertices[idx + 5] = x;
+            vertices[idx + 6] = y2;
+            vertices[idx + 7] = COLOR;
+            vertices[idx + 8] = u;
+            vertices[idx + 9] = v;
+
+            vertices[idx + 10] = x2;
+            vertices[idx + 11] = y2;
+            vertices[idx + 12] = COLOR;
+            vertices[idx + 13] = u2;
+            vertices[idx + 14] = v;
+
+            vertices[idx + 15] = x2;
+            vertices[idx + 16] = y;
+            vertices[idx + 17] = COLOR;
+            vertices[idx + 18] = u2;
+            vertices[idx + 19] = v2;
+
+            idx += QUAD_SIZE;
+        }
+    }
+
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getQuadCount() {
+        return quadCount;
+    }
+}
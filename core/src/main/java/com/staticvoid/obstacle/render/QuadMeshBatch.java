@@ -0,0 +1,124 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/*
+* SpriteBatch that draws large vertex arrays (more quads than fit in one flush)
+* with its own mesh in a single draw call, instead of flushing once per full buffer
+* smaller arrays, text for example, go through SpriteBatch as usual
+ */
+public class QuadMeshBatch extends SpriteBatch {
+
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+
+    // short indices, same limit as SpriteBatch, more quads are drawn in chunks
+    private static final int MAX_QUADS = 8191;
+
+    // -- attributes --
+    private final int size;
+
+    private Mesh bulkMesh;
+    private int bulkQuadCapacity;
+
+    // constructors
+    public QuadMeshBatch() {
+        this(1000);
+    }
+
+    // size -- sprites per SpriteBatch flush, as in SpriteBatch(int)
+    public QuadMeshBatch(int size) {
+        super(size);
+        this.size = size;
+    }
+
+    // == public methods ==
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        int quads = count / SPRITE_SIZE;
+        if (quads <= size) {
+            super.draw(texture, spriteVertices, offset, count);
+            return;
+        }
+
+        if (!isDrawing()) {
+            throw new IllegalStateException("QuadMeshBatch.begin must be called before draw.");
+        }
+
+        // pending sprites go first, this also applies projection and shader state
+        flush();
+        ensureBulkCapacity(quads);
+
+        if (isBlendingEnabled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            if (getBlendSrcFunc() != -1) {
+                Gdx.gl.glBlendFuncSeparate(getBlendSrcFunc(), getBlendDstFunc(),
+                        getBlendSrcFuncAlpha(), getBlendDstFuncAlpha());
+            }
+        } else {
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+
+        // batch shader is bound and has the projection since begin/setProjectionMatrix
+        texture.bind();
+        ShaderProgram shader = getShader();
+
+        for (int first = 0; first < quads; first += bulkQuadCapacity) {
+            int chunk = Math.min(bulkQuadCapacity, quads - first);
+            bulkMesh.setVertices(spriteVertices, offset + first * SPRITE_SIZE, chunk * SPRITE_SIZE);
+            bulkMesh.render(shader, GL20.GL_TRIANGLES, 0, chunk * 6);
+
+            // counted like SpriteBatch flushes, RenderStats reads these
+            renderCalls++;
+            totalRenderCalls++;
+        }
+
+        maxSpritesInBatch = Math.max(maxSpritesInBatch, Math.min(quads, bulkQuadCapacity));
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (bulkMesh != null) {
+            bulkMesh.dispose();
+        }
+    }
+
+    // == private methods ==
+    private void ensureBulkCapacity(int quads) {
+        if (bulkMesh != null && (bulkQuadCapacity >= quads || bulkQuadCapacity == MAX_QUADS)) {
+            return;
+        }
+
+        if (bulkMesh != null) {
+            bulkMesh.dispose();
+        }
+
+        int capacity = Math.min(Math.max(quads, bulkQuadCapacity * 2), MAX_QUADS);
+        bulkMesh = new Mesh(false, capacity * 4, capacity * 6,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                VertexAttribute.ColorPacked(),
+                VertexAttribute.TexCoords(0));
+
+        // 0 1 2, 2 3 0 per quad, the SpriteBatch corner order
+        short[] indices = new short[capacity * 6];
+        short vertex = 0;
+        for (int i = 0; i < indices.length; i += 6, vertex += 4) {
+            indices[i] = vertex;
+            indices[i + 1] = (short) (vertex + 1);
+            indices[i + 2] = (short) (vertex + 2);
+            indices[i + 3] = (short) (vertex + 2);
+            indices[i + 4] = (short) (vertex + 3);
+            indices[i + 5] = vertex;
+        }
+        bulkMesh.setIndices(indices);
+        bulkQuadCapacity = capacity;
+    }
+}
@@ -0,0 +1,463 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+
+import java.util.Arrays;
+
+/*
+* Batch that records draw commands instead of calling GL, for running renderers headless
+* every draw becomes one command:  kind, texture, position, size, sprite count, blending
+* and the projection in use, kept in preallocated parallel arrays until reset()
+* flushes are counted the way QuadMeshBatch would issue them, so draw call counts can be checked
+*
+* there is no default shader, getShader returns whatever was set with setShader
+ */
+public class RecordingBatch implements Batch {
+
+    // one sprite, from any of the texture or region draw methods
+    public static final int KIND_SPRITE = 0;
+    // a vertex array of spriteCount quads, cached text or obstacle quads for example
+    public static final int KIND_VERTICES = 1;
+
+    private static final int SPRITE_SIZE = 20;
+    private static final int BULK_MAX_QUADS = 8191;
+
+    // -- attributes --
+    private final int size;
+
+    private int[] kinds;
+    private Texture[] textures;
+    private float[] xs;
+    private float[] ys;
+    private float[] widths;
+    private float[] heights;
+    private int[] spriteCounts;
+    private boolean[] blending;
+    private int[] projectionVersions;
+    private int commandCount;
+
+    // counters since the last reset
+    private int beginCount;
+    private int flushCount;
+    private int textureSwitches;
+    private int spriteCount;
+
+    // batch state, kept across reset
+    private final Matrix4 projectionMatrix = new Matrix4();
+    private final Matrix4 transformMatrix = new Matrix4();
+    private final Color color = new Color(Color.WHITE);
+    private float packedColor = Color.WHITE_FLOAT_BITS;
+    private ShaderProgram shader;
+    private boolean drawing;
+    private boolean blendingDisabled;
+    private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+    private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private int blendSrcFuncAlpha = GL20.GL_SRC_ALPHA;
+    private int blendDstFuncAlpha = GL20.GL_ONE_MINUS_SRC_ALPHA;
+    private int projectionVersion;
+    private Texture lastTexture;
+    private int pendingSprites;
+
+    // constructors
+    public RecordingBatch() {
+        this(1000, 256);
+    }
+
+    // size -- sprites per flush like SpriteBatch(size), initialCapacity -- commands before growing
+    public RecordingBatch(int size, int initialCapacity) {
+        if (size <= 0 || initialCapacity <= 0) {
+            throw new IllegalArgumentException("size and initialCapacity must be positive");
+        }
+
+        this.size = size;
+        kinds = new int[initialCapacity];
+        textures = new Texture[initialCapacity];
+        xs = new float[initialCapacity];
+        ys = new float[initialCapacity];
+        widths = new float[initialCapacity];
+        heights = new float[initialCapacity];
+        spriteCounts = new int[initialCapacity];
+        blending = new boolean[initialCapacity];
+        projectionVersions = new int[initialCapacity];
+    }
+
+    // == public methods ==
+    // forgets recorded commands and counters, batch state stays
+    public void reset() {
+        Arrays.fill(textures, 0, commandCount, null);
+        commandCount = 0;
+        beginCount = 0;
+        flushCount = 0;
+        textureSwitches = 0;
+        spriteCount = 0;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getKind(int command) {
+        return kinds[command];
+    }
+
+    public Texture getTexture(int command) {
+        return textures[command];
+    }
+
+    // sprite position, or the first vertex of a vertex array
+    public float getX(int command) {
+        return xs[command];
+    }
+
+    public float getY(int command) {
+        return ys[command];
+    }
+
+    // 0 for vertex arrays
+    public float getWidth(int command) {
+        return widths[command];
+    }
+
+    public float getHeight(int command) {
+        return heights[command];
+    }
+
+    public int getSpriteCount(int command) {
+        return spriteCounts[command];
+    }
+
+    public boolean isBlendingEnabled(int command) {
+        return blending[command];
+    }
+
+    // goes up with every setProjectionMatrix, equal versions mean the same projection
+    public int getProjectionVersion(int command) {
+        return projectionVersions[command];
+    }
+
+    public int getBeginCount() {
+        return beginCount;
+    }
+
+    // draw calls a QuadMeshBatch of the same size would have made
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    public int getTotalSpriteCount() {
+        return spriteCount;
+    }
+
+    @Override
+    public void begin() {
+        if (drawing) {
+            throw new IllegalStateException("RecordingBatch.end must be called before begin.");
+        }
+        drawing = true;
+        beginCount++;
+    }
+
+    @Override
+    public void end() {
+        if (!drawing) {
+            throw new IllegalStateException("RecordingBatch.begin must be called before end.");
+        }
+        flush();
+        lastTexture = null;
+        drawing = false;
+    }
+
+    @Override
+    public void setColor(Color tint) {
+        color.set(tint);
+        packedColor = tint.toFloatBits();
+    }
+
+    @Override
+    public void setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        packedColor = color.toFloatBits();
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public void setPackedColor(float packedColor) {
+        Color.abgr8888ToColor(color, packedColor);
+        this.packedColor = packedColor;
+    }
+
+    @Override
+    public float getPackedColor() {
+        return packedColor;
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight,
+                     boolean flipX, boolean flipY) {
+        recordSprite(texture, x, y, width * scaleX, height * scaleY);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height, int srcX, int srcY,
+                     int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+        recordSprite(texture, x, y, width, height);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+        recordSprite(texture, x, y, srcWidth, srcHeight);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height,
+                     float u, float v, float u2, float v2) {
+        recordSprite(texture, x, y, width, height);
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y) {
+        recordSprite(texture, x, y, texture.getWidth(), texture.getHeight());
+    }
+
+    @Override
+    public void draw(Texture texture, float x, float y, float width, float height) {
+        recordSprite(texture, x, y, width, height);
+    }
+
+    @Override
+    public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+        int quads = count / SPRITE_SIZE;
+        if (quads == 0) {
+            return;
+        }
+
+        record(KIND_VERTICES, texture, spriteVertices[offset], spriteVertices[offset + 1], 0f, 0f, quads);
+
+        if (quads <= size) {
+            addPending(quads);
+        } else {
+            // QuadMeshBatch draws these with its own mesh, one call per 8191 quads
+            flush();
+            flushCount += (quads + BULK_MAX_QUADS - 1) / BULK_MAX_QUADS;
+        }
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y) {
+        recordSprite(region.getTexture(), x, y, region.getRegionWidth(), region.getRegionHeight());
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float width, float height) {
+        recordSprite(region.getTexture(), x, y, width, height);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width,
+                     float height, float scaleX, float scaleY, float rotation) {
+        recordSprite(region.getTexture(), x, y, width * scaleX, height * scaleY);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float x, float y, float originX, float originY, float width,
+                     float height, float scaleX, float scaleY, float rotation, boolean clockwise) {
+        recordSprite(region.getTexture(), x, y, width * scaleX, height * scaleY);
+    }
+
+    @Override
+    public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+        recordSprite(region.getTexture(), transform.m02, transform.m12, width, height);
+    }
+
+    @Override
+    public void flush() {
+        if (pendingSprites > 0) {
+            flushCount++;
+            pendingSprites = 0;
+        }
+    }
+
+    @Override
+    public void disableBlending() {
+        if (blendingDisabled) {
+            return;
+        }
+        flush();
+        blendingDisabled = true;
+    }
+
+    @Override
+    public void enableBlending() {
+        if (!blendingDisabled) {
+            return;
+        }
+        flush();
+        blendingDisabled = false;
+    }
+
+    @Override
+    public void setBlendFunction(int srcFunc, int dstFunc) {
+        setBlendFunctionSeparate(srcFunc, dstFunc, srcFunc, dstFunc);
+    }
+
+    @Override
+    public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {
+        if (blendSrcFunc == srcFuncColor && blendDstFunc == dstFuncColor
+                && blendSrcFuncAlpha == srcFuncAlpha && blendDstFuncAlpha == dstFuncAlpha) {
+            return;
+        }
+        flush();
+        blendSrcFunc = srcFuncColor;
+        blendDstFunc = dstFuncColor;
+        blendSrcFuncAlpha = srcFuncAlpha;
+        blendDstFuncAlpha = dstFuncAlpha;
+    }
+
+    @Override
+    public int getBlendSrcFunc() {
+        return blendSrcFunc;
+    }
+
+    @Override
+    public int getBlendDstFunc() {
+        return blendDstFunc;
+    }
+
+    @Override
+    public int getBlendSrcFuncAlpha() {
+        return blendSrcFuncAlpha;
+    }
+
+    @Override
+    public int getBlendDstFuncAlpha() {
+        return blendDstFuncAlpha;
+    }
+
+    @Override
+    public Matrix4 getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    @Override
+    public Matrix4 getTransformMatrix() {
+        return transformMatrix;
+    }
+
+    @Override
+    public void setProjectionMatrix(Matrix4 projection) {
+        if (drawing) {
+            flush();
+        }
+        projectionMatrix.set(projection);
+        projectionVersion++;
+    }
+
+    @Override
+    public void setTransformMatrix(Matrix4 transform) {
+        if (drawing) {
+            flush();
+        }
+        transformMatrix.set(transform);
+    }
+
+    @Override
+    public void setShader(ShaderProgram shader) {
+        if (drawing) {
+            flush();
+        }
+        this.shader = shader;
+    }
+
+    @Override
+    public ShaderProgram getShader() {
+        return shader;
+    }
+
+    @Override
+    public boolean isBlendingEnabled() {
+        return !blendingDisabled;
+    }
+
+    @Override
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    @Override
+    public void dispose() {
+        // nothing allocated outside the heap
+    }
+
+    // == private methods ==
+    private void recordSprite(Texture texture, float x, float y, float width, float height) {
+        record(KIND_SPRITE, texture, x, y, width, height, 1);
+        addPending(1);
+    }
+
+    private void record(int kind, Texture texture, float x, float y, float width, float height, int sprites) {
+        if (!drawing) {
+            throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+        }
+
+        if (texture != lastTexture) {
+            flush();
+            lastTexture = texture;
+            textureSwitches++;
+        }
+
+        if (commandCount == kinds.length) {
+            grow();
+        }
+
+        int command = commandCount++;
+        kinds[command] = kind;
+        textures[command] = texture;
+        xs[command] = x;
+        ys[command] = y;
+        widths[command] = width;
+        heights[command] = height;
+        spriteCounts[command] = sprites;
+        blending[command] = !blendingDisabled;
+        projectionVersions[command] = projectionVersion;
+
+        spriteCount += sprites;
+    }
+
+    // SpriteBatch flushes when its vertex array is full
+    private void addPending(int sprites) {
+        pendingSprites += sprites;
+        while (pendingSprites > size) {
+            flushCount++;
+            pendingSprites -= size;
+        }
+    }
+
+    private void grow() {
+        int capacity = kinds.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        textures = Arrays.copyOf(textures, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        spriteCounts = Arrays.copyOf(spriteCounts, capacity);
+        blending = Arrays.copyOf(blending, capacity);
+        projectionVersions = Arrays.copyOf(projectionVersions, capacity);
+    }
+}
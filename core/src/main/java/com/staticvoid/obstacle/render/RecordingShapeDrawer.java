@@ -0,0 +1,142 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/*
+* ShapeDrawer that only counts what would be drawn, for running renderers headless
+* line lists count as uploaded when GdxShapeDrawer would upload them (new or changed version)
+ */
+public class RecordingShapeDrawer implements ShapeDrawer {
+
+    // -- attributes --
+    private final ObjectIntMap<LineList> uploadedVersions = new ObjectIntMap<LineList>();
+    private final Color color = new Color(Color.WHITE);
+    private boolean drawing;
+
+    // counters since the last reset
+    private int passes;
+    private int lines;
+    private int crosses;
+    private int circles;
+    private int circleSegments;
+    private int lineLists;
+    private int lineListLines;
+    private int lineListUploads;
+
+    // == public methods ==
+    public void reset() {
+        passes = 0;
+        lines = 0;
+        crosses = 0;
+        circles = 0;
+        circleSegments = 0;
+        lineLists = 0;
+        lineListLines = 0;
+        lineListUploads = 0;
+    }
+
+    @Override
+    public void begin(Matrix4 projection) {
+        if (drawing) {
+            throw new IllegalStateException("RecordingShapeDrawer.end must be called before begin.");
+        }
+        drawing = true;
+        passes++;
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color.set(color);
+    }
+
+    @Override
+    public void line(float x1, float y1, float x2, float y2) {
+        checkDrawing();
+        lines++;
+    }
+
+    @Override
+    public void x(float x, float y, float size) {
+        checkDrawing();
+        crosses++;
+    }
+
+    @Override
+    public void circle(float x, float y, float radius, int segments) {
+        checkDrawing();
+        circles++;
+        circleSegments += segments;
+    }
+
+    @Override
+    public void lines(LineList lineList) {
+        checkDrawing();
+        if (lineList.getVertexCount() == 0) {
+            return;
+        }
+
+        lineLists++;
+        lineListLines += lineList.getLineCount();
+
+        if (uploadedVersions.get(lineList, -1) != lineList.getVersion()) {
+            uploadedVersions.put(lineList, lineList.getVersion());
+            lineListUploads++;
+        }
+    }
+
+    @Override
+    public void end() {
+        checkDrawing();
+        drawing = false;
+    }
+
+    @Override
+    public void dispose() {
+        uploadedVersions.clear();
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getCrosses() {
+        return crosses;
+    }
+
+    public int getCircles() {
+        return circles;
+    }
+
+    public int getCircleSegments() {
+        return circleSegments;
+    }
+
+    public int getLineLists() {
+        return lineLists;
+    }
+
+    public int getLineListLines() {
+        return lineListLines;
+    }
+
+    public int getLineListUploads() {
+        return lineListUploads;
+    }
+
+    // == private methods ==
+    private void checkDrawing() {
+        if (!drawing) {
+            throw new IllegalStateException("RecordingShapeDrawer.begin must be called before drawing.");
+        }
+    }
+}
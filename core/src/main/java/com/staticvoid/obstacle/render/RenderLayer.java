@@ -0,0 +1,9 @@
+package com.staticvoid.obstacle.render;
+
+// draw order of the render queue, lower layers are drawn first
+// each layer is drawn with the projection set for it on the queue
+public enum RenderLayer {
+    BACKGROUND,
+    GAMEPLAY,
+    HUD
+}
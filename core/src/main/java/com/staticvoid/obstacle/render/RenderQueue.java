@@ -0,0 +1,206 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+
+import java.util.Arrays;
+
+/*
+* collects a frame's draws and submits them in a single batch pass
+* draws are sorted by layer, then blend mode, then texture, ties keep submission order
+* the batch only flushes where the projection, blending or texture really changes
+*
+* all layers share one begin/end, so the viewports of the layers must cover the same
+* screen area (FitViewports of the same aspect ratio, like the world and the hud)
+ */
+public class RenderQueue {
+
+    private static final RenderLayer[] LAYERS = RenderLayer.values();
+
+    // sort key:  layer (8 bits) | blend (1 bit) | texture handle (23 bits) | submission index (32 bits)
+    private static final int LAYER_SHIFT = 56;
+    private static final int BLEND_SHIFT = 55;
+    private static final int TEXTURE_SHIFT = 32;
+    private static final long TEXTURE_MASK = (1L << 23) - 1;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    // -- attributes --
+    private final Matrix4[] projections = new Matrix4[LAYERS.length];
+
+    private long[] keys;
+    private TextureRegion[] regions;
+    private BatchDrawable[] drawables;
+    private float[] bounds;  // x, y, width, height per draw
+
+    private int size;
+
+    // constructor
+    public RenderQueue(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+
+        keys = new long[initialCapacity];
+        regions = new TextureRegion[initialCapacity];
+        drawables = new BatchDrawable[initialCapacity];
+        bounds = new float[initialCapacity * 4];
+    }
+
+    // == public methods ==
+    // matrix is kept by reference, camera.combined stays current after camera.update
+    public void setProjection(RenderLayer layer, Matrix4 projection) {
+        projections[layer.ordinal()] = projection;
+    }
+
+    public void submit(RenderLayer layer, BlendMode blendMode, TextureRegion region,
+                       float x, float y, float width, float height) {
+        int index = nextIndex(layer, blendMode, region.getTexture());
+        regions[index] = region;
+
+        int i = index * 4;
+        bounds[i] = x;
+        bounds[i + 1] = y;
+        bounds[i + 2] = width;
+        bounds[i + 3] = height;
+    }
+
+    public void submit(RenderLayer layer, BlendMode blendMode, BatchDrawable drawable) {
+        int index = nextIndex(layer, blendMode, drawable.getTexture());
+        drawables[index] = drawable;
+    }
+
+    // draws everything submitted since the last flush and empties the queue
+    public void flush(Batch batch) {
+        if (size == 0) {
+            return;
+        }
+
+        sortKeys();
+
+        int currentLayer = -1;
+        int currentBlend = -1;
+
+        batch.begin();
+
+        for (int k = 0; k < size; k++) {
+            long key = keys[k];
+            int layer = (int) (key >>> LAYER_SHIFT);
+            int blend = (int) (key >>> BLEND_SHIFT) & 1;
+            int index = (int) (key & INDEX_MASK);
+
+            // both flush the batch, so only when they actually change
+            if (layer != currentLayer) {
+                Matrix4 projection = projections[layer];
+                if (projection == null) {
+                    throw new IllegalStateException("No projection set for layer " + LAYERS[layer]);
+                }
+                batch.setProjectionMatrix(projection);
+                currentLayer = layer;
+            }
+
+            if (blend != currentBlend) {
+                if (blend == BlendMode.OPAQUE.ordinal()) {
+                    batch.disableBlending();
+                } else {
+                    batch.enableBlending();
+                }
+                currentBlend = blend;
+            }
+
+            TextureRegion region = regions[index];
+            if (region != null) {
+                int i = index * 4;
+                batch.draw(region, bounds[i], bounds[i + 1], bounds[i + 2], bounds[i + 3]);
+                regions[index] = null;
+            } else {
+                drawables[index].draw(batch);
+                drawables[index] = null;
+            }
+        }
+
+        batch.end();
+        // leave the batch the way others expect it
+        batch.enableBlending();
+
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // == private methods ==
+    private int nextIndex(RenderLayer layer, BlendMode blendMode, Texture texture) {
+        if (size == keys.length) {
+            grow();
+        }
+
+        int index = size++;
+        keys[index] = ((long) layer.ordinal() << LAYER_SHIFT)
+                | ((long) blendMode.ordinal() << BLEND_SHIFT)
+                | ((texture.getTextureObjectHandle() & TEXTURE_MASK) << TEXTURE_SHIFT)
+                | index;
+        return index;
+    }
+
+    // renderers mostly submit in layer order already, so check before sorting
+    // heap sort when needed, in place and without the buffers Arrays.sort may allocate
+    private void sortKeys() {
+        boolean sorted = true;
+        for (int i = 1; i < size; i++) {
+            if (keys[i - 1] > keys[i]) {
+                sorted = false;
+                break;
+            }
+        }
+
+        if (sorted) {
+            return;
+        }
+
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i, size);
+        }
+
+        for (int end = size - 1; end > 0; end--) {
+            long top = keys[0];
+            keys[0] = keys[end];
+            keys[end] = top;
+            siftDown(0, end);
+        }
+    }
+
+    private void siftDown(int root, int end) {
+        long value = keys[root];
+
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= end) {
+                break;
+            }
+
+            if (child + 1 < end && keys[child + 1] > keys[child]) {
+                child++;
+            }
+
+            if (keys[child] <= value) {
+                break;
+            }
+
+            keys[root] = keys[child];
+            root = child;
+        }
+
+        keys[root] = value;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        regions = Arrays.copyOf(regions, capacity);
+        drawables = Arrays.copyOf(drawables, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+    }
+}
@@ -0,0 +1,28 @@
+package com.staticvoid.obstacle.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/*
+* the part of ShapeRenderer (line mode) the game draws debug shapes with
+* GdxShapeDrawer draws through a ShapeRenderer, RecordingShapeDrawer records without GL
+ */
+public interface ShapeDrawer extends Disposable {
+
+    void begin(Matrix4 projection);
+
+    void setColor(Color color);
+
+    void line(float x1, float y1, float x2, float y2);
+
+    // cross, as ShapeRenderer.x
+    void x(float x, float y, float size);
+
+    void circle(float x, float y, float radius, int segments);
+
+    // prebuilt lines, may stay cached between frames until their version changes
+    void lines(LineList lines);
+
+    void end();
+}
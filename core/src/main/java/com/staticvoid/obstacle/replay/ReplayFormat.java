@@ -0,0 +1,56 @@
+package com.staticvoid.obstacle.replay;
+
+import java.nio.ByteBuffer;
+
+/*
+* the replay file, written by ReplayWriter and read by ReplayReader
+* header:  magic, version, seed, difficulty ordinal, ticks per second, checksum interval,
+*          System.currentTimeMillis() when recording started, big endian
+* then one entry per input change, world checksum and the end of the game, in tick order
+* entry:   varint  ticks since the previous entry << 2 | kind
+*   INPUT      one byte  direction + 1 | TOUCHED, touched adds the zigzag varint difference
+*              of the touch x float bits to those of the previous touch
+*   CHECKSUM   int  GameController.getStateChecksum() after the step
+*   END        nothing, the last tick of the game
+* ticks without an entry play with the input of the tick before, so holding a key or not
+* touching at all costs nothing and a game takes a few bytes per second
+* a file cut short by a crash reads up to its last whole entry
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x4F415250; // "OARP"
+    // 2: sessions draw from GameRandom streams, older replays play a different game
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 36;
+
+    static final int KIND_BITS = 2;
+    static final int KIND_MASK = (1 << KIND_BITS) - 1;
+    static final int INPUT = 0;
+    static final int CHECKSUM = 1;
+    static final int END = 2;
+
+    static final int DIRECTION_MASK = 3;
+    static final int TOUCHED = 4;
+
+    // header varint, input byte, touch varint
+    static final int MAX_ENTRY_SIZE = 5 + 1 + 5;
+
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,212 @@
+package com.staticvoid.obstacle.replay;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/*
+* reads a file ReplayWriter wrote and steers the replayed session with it
+* ReplayRunner calls advanceTick before each step and readChecksum after it
+* the whole file is read up front, a game of an hour is a few kilobytes
+ */
+public class ReplayReader implements InputSource {
+
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    // -- attributes --
+    private final File file;
+    private final ByteBuffer data;
+
+    private final long seed;
+    private final DifficultyLevel difficultyLevel;
+    private final int ticksPerSecond;
+    private final int checksumInterval;
+    private final long startMillis;
+
+    // the next entry, read ahead
+    private int entryTick;
+    private int entryKind = ReplayFormat.END;
+    private boolean truncated;
+
+    private int direction = MOVE_NONE;
+    private float touchX = NO_TOUCH;
+    private int touchBits;
+
+    private int checksumTick = -1;
+    private int checksum;
+
+    // constructor
+    public ReplayReader(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File param required");
+        }
+        this.file = file;
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) in.length()];
+            in.readFully(bytes);
+            data = ByteBuffer.wrap(bytes);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + file, e);
+        }
+
+        if (data.remaining() < ReplayFormat.HEADER_SIZE || data.getInt() != ReplayFormat.MAGIC) {
+            throw new GdxRuntimeException(file + " is not a replay");
+        }
+
+        int version = data.getInt();
+        if (version != ReplayFormat.VERSION) {
+            throw new GdxRuntimeException(file + " has unknown version " + version);
+        }
+
+        seed = data.getLong();
+        int level = data.getInt();
+        if (level < 0 || level >= LEVELS.length) {
+            throw new GdxRuntimeException(file + " has unknown difficulty " + level);
+        }
+        difficultyLevel = LEVELS[level];
+        ticksPerSecond = data.getInt();
+        checksumInterval = data.getInt();
+        startMillis = data.getLong();
+
+        readEntry();
+    }
+
+    // == public methods ==
+    // applies the input recorded up to this tick
+    public void advanceTick(int tick) {
+        while (entryKind == ReplayFormat.INPUT && entryTick <= tick) {
+            int input = data.get() & 0xFF;
+            direction = (input & ReplayFormat.DIRECTION_MASK) - 1;
+            if ((input & ReplayFormat.TOUCHED) != 0) {
+                touchBits += ReplayFormat.unzigzag(getVarInt());
+                touchX = Float.intBitsToFloat(touchBits);
+            } else {
+                touchX = NO_TOUCH;
+            }
+            readEntry();
+        }
+    }
+
+    // true when a checksum was recorded after the step of this tick, see getChecksum
+    public boolean readChecksum(int tick) {
+        if (entryKind != ReplayFormat.CHECKSUM || entryTick != tick) {
+            return false;
+        }
+
+        checksum = data.getInt();
+        checksumTick = tick;
+        readEntry();
+        return true;
+    }
+
+    public int getChecksum() {
+        return checksum;
+    }
+
+    // tick of the last checksum read, -1 before the first
+    public int getChecksumTick() {
+        return checksumTick;
+    }
+
+    // true once nothing but the end is left and the game reached it
+    public boolean isEnded(int tick) {
+        return entryKind == ReplayFormat.END && tick >= entryTick;
+    }
+
+    // the recording stops before its end entry, the session crashed or was killed
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public int getMoveDirection() {
+        return direction;
+    }
+
+    @Override
+    public float getTouchX() {
+        return touchX;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public DifficultyLevel getDifficultyLevel() {
+        return difficultyLevel;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public int getChecksumInterval() {
+        return checksumInterval;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public int getSize() {
+        return data.capacity();
+    }
+
+    // == private methods ==
+    // reads the next entry header, a torn entry at the end counts as the end
+    private void readEntry() {
+        int start = data.position();
+        try {
+            int header = getVarInt();
+            int kind = header & ReplayFormat.KIND_MASK;
+            int tick = entryTick + (header >>> ReplayFormat.KIND_BITS);
+            // the payload has to be there as well
+            int payload = kind == ReplayFormat.CHECKSUM ? 4 : kind == ReplayFormat.INPUT ? 1 : 0;
+            if (data.remaining() < payload || kind == ReplayFormat.INPUT && !hasInputPayload()) {
+                throw new BufferUnderflowException();
+            }
+            entryKind = kind;
+            entryTick = tick;
+        } catch (BufferUnderflowException e) {
+            data.position(start);
+            truncated = true;
+            entryKind = ReplayFormat.END;
+        }
+    }
+
+    private boolean hasInputPayload() {
+        int input = data.get(data.position()) & 0xFF;
+        if ((input & ReplayFormat.TOUCHED) == 0) {
+            return true;
+        }
+
+        for (int position = data.position() + 1; position < data.limit(); position++) {
+            if ((data.get(position) & 0x80) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getVarInt() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.staticvoid.obstacle.replay;
+
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+/*
+* plays a recorded session again, step by step, from its seed and input
+* nothing is drawn or played, scores are not kept
+* after every step with a recorded checksum the replayed world is compared with the recorded
+* one, the first tick they differ at is the divergence, the replay stops there
+* a replay recorded with a checksum interval of 1 pins a divergence to its exact step
+ */
+public class ReplayRunner {
+
+    public static final int NO_DIVERGENCE = -1;
+
+    // -- attributes --
+    private final ReplayReader reader;
+    private final GameController controller;
+    private final float stepTime;
+
+    private int divergedTick = NO_DIVERGENCE;
+    private int checksumsMatched;
+
+    // constructor
+    public ReplayRunner(ReplayReader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader param required");
+        }
+        this.reader = reader;
+
+        GameContext context = new GameContext(reader.getDifficultyLevel(), reader.getSeed(),
+                reader, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        // no regions, nothing is ever drawn
+        controller = new GameController(context, new EntityFactory(context, null, null));
+        // same float as FixedTimestep computes for the recording
+        stepTime = 1f / reader.getTicksPerSecond();
+    }
+
+    // == public methods ==
+    // plays to the end of the recording or the first divergence,
+    // returns the tick of the divergence or NO_DIVERGENCE
+    public int run() {
+        while (step()) {
+            // keep stepping
+        }
+        return divergedTick;
+    }
+
+    // one step, false once the replay is over
+    public boolean step() {
+        if (isFinished()) {
+            return false;
+        }
+
+        int tick = controller.getTick() + 1;
+        reader.advanceTick(tick);
+        controller.update(stepTime);
+
+        if (reader.readChecksum(tick)) {
+            if (reader.getChecksum() == controller.getStateChecksum()) {
+                checksumsMatched++;
+            } else {
+                divergedTick = tick;
+            }
+        } else if (controller.isGameOver() && !reader.isEnded(tick)) {
+            // the recorded game went on
+            divergedTick = tick;
+        }
+        return true;
+    }
+
+    public boolean isFinished() {
+        return divergedTick != NO_DIVERGENCE || controller.isGameOver()
+                || reader.isEnded(controller.getTick());
+    }
+
+    public int getDivergedTick() {
+        return divergedTick;
+    }
+
+    public int getChecksumsMatched() {
+        return checksumsMatched;
+    }
+
+    // set a broadphase, profiler or job system before the first step, any of them
+    // plays the same game
+    public GameController getController() {
+        return controller;
+    }
+}
@@ -0,0 +1,213 @@
+package com.staticvoid.obstacle.replay;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.config.GameConfig;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+* records a game session as its seed plus the input of every tick, see ReplayFormat
+* GameController hands in the input it steps with and a world checksum every
+* checksumInterval ticks, ReplayRunner plays the file back and compares those checksums
+* entries collect in a small direct buffer that goes to the file whenever it is full,
+* at the first checksum every FLUSH_INTERVAL ticks and on close, a killed game loses
+* a few seconds at most
+* used by the simulation thread only, flush() while it is paused, close() once it stopped
+* a failing write stops the recording, the game goes on
+ */
+public class ReplayWriter {
+
+    private static final Logger log = new Logger(ReplayWriter.class.getName(), Logger.DEBUG);
+
+    // one checksum per second of play
+    public static final int DEFAULT_CHECKSUM_INTERVAL = GameConfig.SIM_TICKS_PER_SECOND;
+
+    private static final int BUFFER_SIZE = 4096;
+    // five seconds of play
+    private static final int FLUSH_INTERVAL = 5 * GameConfig.SIM_TICKS_PER_SECOND;
+
+    // -- attributes --
+    private final File file;
+    private final int checksumInterval;
+    private final FileOutputStream out;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long bytesWritten;
+    private int entryTick;
+    private int lastTick;
+    private int flushTick;
+    private boolean ended;
+    private boolean failed;
+    private boolean closed;
+
+    // input of the previous tick
+    private int direction = InputSource.MOVE_NONE;
+    private boolean touched;
+    private int touchBits;
+
+    // constructor
+    // ticksPerSecond -- the fixed step rate the session runs at, replays step at the same rate
+    public ReplayWriter(File file, GameContext context, int ticksPerSecond, int checksumInterval) {
+        if (file == null) {
+            throw new IllegalArgumentException("File param required");
+        }
+
+        if (context == null) {
+            throw new IllegalArgumentException("Context param required");
+        }
+
+        if (checksumInterval <= 0) {
+            throw new IllegalArgumentException("checksumInterval must be positive");
+        }
+
+        this.file = file;
+        this.checksumInterval = checksumInterval;
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new GdxRuntimeException("Could not create " + directory);
+        }
+
+        try {
+            out = new FileOutputStream(file);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not create " + file, e);
+        }
+        channel = out.getChannel();
+
+        buffer.putInt(ReplayFormat.MAGIC)
+                .putInt(ReplayFormat.VERSION)
+                .putLong(context.getSeed())
+                .putInt(context.getDifficultyLevel().ordinal())
+                .putInt(ticksPerSecond)
+                .putInt(checksumInterval)
+                .putLong(System.currentTimeMillis());
+        // the first write on a channel allocates, get it over with before the game starts
+        drain();
+    }
+
+    // == public methods ==
+    // the input the step of this tick runs with, only changes are written
+    public void recordInput(int tick, int moveDirection, float touchX) {
+        lastTick = tick;
+        if (ended || failed) {
+            return;
+        }
+
+        boolean touchedNow = !Float.isNaN(touchX);
+        int touchBitsNow = touchedNow ? Float.floatToRawIntBits(touchX) : touchBits;
+        if (moveDirection == direction && touchedNow == touched && touchBitsNow == touchBits) {
+            return;
+        }
+
+        putEntry(tick, ReplayFormat.INPUT);
+        buffer.put((byte) (moveDirection + 1 | (touchedNow ? ReplayFormat.TOUCHED : 0)));
+        if (touchedNow) {
+            ReplayFormat.putVarInt(buffer, ReplayFormat.zigzag(touchBitsNow - touchBits));
+        }
+
+        direction = moveDirection;
+        touched = touchedNow;
+        touchBits = touchBitsNow;
+    }
+
+    public boolean isChecksumTick(int tick) {
+        return tick % checksumInterval == 0;
+    }
+
+    // world checksum after the step of this tick
+    public void recordChecksum(int tick, int checksum) {
+        if (ended || failed) {
+            return;
+        }
+
+        putEntry(tick, ReplayFormat.CHECKSUM);
+        buffer.putInt(checksum);
+        if (tick - flushTick >= FLUSH_INTERVAL) {
+            flush();
+        }
+    }
+
+    // game over at this tick, nothing is recorded afterwards
+    // the file is written on close, not in the middle of the step
+    public void end(int tick) {
+        if (ended || failed) {
+            return;
+        }
+
+        putEntry(tick, ReplayFormat.END);
+        ended = true;
+    }
+
+    // what was recorded so far goes to the file, the recording goes on
+    public void flush() {
+        if (closed || failed) {
+            return;
+        }
+
+        flushTick = lastTick;
+        if (buffer.position() > 0) {
+            drain();
+        }
+    }
+
+    // a session left before game over ends at its last recorded tick
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        end(lastTick);
+        if (!failed) {
+            drain();
+        }
+
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.error("Could not close replay " + file, e);
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    // file size so far, including what still waits in the buffer
+    public long getSize() {
+        return bytesWritten + buffer.position();
+    }
+
+    // == private methods ==
+    private void putEntry(int tick, int kind) {
+        if (buffer.remaining() < ReplayFormat.MAX_ENTRY_SIZE) {
+            drain();
+        }
+
+        ReplayFormat.putVarInt(buffer, (tick - entryTick) << ReplayFormat.KIND_BITS | kind);
+        entryTick = tick;
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // a lost replay is not worth failing the game over
+            log.error("Could not write replay " + file + ", recording stopped", e);
+            failed = true;
+        }
+        buffer.clear();
+    }
+}
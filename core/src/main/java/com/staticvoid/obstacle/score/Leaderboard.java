@@ -0,0 +1,170 @@
+package com.staticvoid.obstacle.score;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+
+import java.io.File;
+import java.io.IOException;
+
+/*
+* every finished game, kept on disk, with the best TOP_COUNT per difficulty level at hand
+* scores.log  -- append only, one fixed width record per game (score, difficulty, ticks played,
+*                wall clock time, seed), the source of truth
+* scores.idx  -- memory mapped top TOP_COUNT per level, updated on every record, rebuilt from
+*                the log when missing or damaged
+* recording is one 32 byte append plus at most TOP_COUNT moves in the index, whatever the
+* number of games on file, reading a rank is one lookup, nothing is scanned or parsed
+* nothing is synced per record, flush() on pause and close() on exit do that
+* a failing write stops the recording, the game goes on, what is on file can still be read
+* any thread may record and read, java.io and FileChannel.map only (Android API 19)
+ */
+public class Leaderboard {
+
+    private static final Logger logger = new Logger(Leaderboard.class.getName(), Logger.DEBUG);
+
+    public static final int TOP_COUNT = 10;
+
+    private static final String LOG_FILE = "scores.log";
+    private static final String INDEX_FILE = "scores.idx";
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    // -- attributes --
+    private final File directory;
+    private final ScoreLog log;
+    private final TopScoreIndex index;
+    private boolean failed;
+    private boolean closed;
+
+    // constructor
+    public Leaderboard(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory param required");
+        }
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new GdxRuntimeException("Could not create " + directory);
+        }
+        this.directory = directory;
+
+        try {
+            log = new ScoreLog(new File(directory, LOG_FILE));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open " + LOG_FILE + " in " + directory, e);
+        }
+
+        try {
+            index = new TopScoreIndex(new File(directory, INDEX_FILE), TOP_COUNT, LEVELS.length, log);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new GdxRuntimeException("Could not open " + INDEX_FILE + " in " + directory, e);
+        }
+    }
+
+    // == public methods ==
+    // ticks -- simulation steps the game lasted
+    public synchronized void record(DifficultyLevel difficultyLevel, long seed, int score, int ticks) {
+        if (difficultyLevel == null) {
+            throw new IllegalArgumentException("difficultyLevel param required");
+        }
+        checkOpen();
+        if (failed) {
+            return;
+        }
+
+        try {
+            log.append(System.currentTimeMillis(), seed, score, ticks, difficultyLevel.ordinal());
+        } catch (IOException e) {
+            // called at game over on the simulation thread, a lost score is not worth failing the game over
+            logger.error("Could not write " + log.getFile() + ", recording stopped", e);
+            failed = true;
+            return;
+        }
+        index.apply(log.getLastRecord(), 0);
+    }
+
+    // games recorded on all levels
+    public synchronized long getRunCount() {
+        return log.getCount();
+    }
+
+    // ranks filled on this level, at most TOP_COUNT
+    public synchronized int getCount(DifficultyLevel difficultyLevel) {
+        checkOpen();
+        return index.getCount(difficultyLevel.ordinal());
+    }
+
+    // rank 0 is the best
+    public synchronized int getScore(DifficultyLevel difficultyLevel, int rank) {
+        return index.getScore(checkRank(difficultyLevel, rank), rank);
+    }
+
+    public synchronized int getTicks(DifficultyLevel difficultyLevel, int rank) {
+        return index.getTicks(checkRank(difficultyLevel, rank), rank);
+    }
+
+    // System.currentTimeMillis() when the game was recorded
+    public synchronized long getTimestamp(DifficultyLevel difficultyLevel, int rank) {
+        return index.getTimestamp(checkRank(difficultyLevel, rank), rank);
+    }
+
+    public synchronized long getSeed(DifficultyLevel difficultyLevel, int rank) {
+        return index.getSeed(checkRank(difficultyLevel, rank), rank);
+    }
+
+    // puts recorded games on disk, the app may not come back from a pause
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            log.flush();
+        } catch (IOException e) {
+            // pause and exit call this, the records stay with the os and may still reach the disk
+            logger.error("Could not flush " + log.getFile(), e);
+        }
+        index.flush();
+    }
+
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        flush();
+        closeQuietly();
+    }
+
+    @Override
+    public String toString() {
+        return "Leaderboard{" + directory + "}";
+    }
+
+    // == private methods ==
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(this + " is closed");
+        }
+    }
+
+    private int checkRank(DifficultyLevel difficultyLevel, int rank) {
+        int count = getCount(difficultyLevel);
+        if (rank < 0 || rank >= count) {
+            throw new IndexOutOfBoundsException("rank " + rank + " of " + count);
+        }
+        return difficultyLevel.ordinal();
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            log.close();
+            if (index != null) {
+                index.close();
+            }
+        } catch (IOException e) {
+            logger.error("Could not close " + this, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.staticvoid.obstacle.score;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+* append only file of ScoreRecords, the one source of truth for recorded games
+* records are never changed or removed, an append is one positional write and no sync,
+* a crash can lose the last few games but never damage the earlier ones
+* on open a record cut short or left unfinished by a crash is cut off the end
+ */
+class ScoreLog {
+
+    // -- attributes --
+    private final File file;
+    private final RandomAccessFile access;
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(ScoreRecord.SIZE);
+
+    private long count;
+
+    // constructor
+    ScoreLog(File file) throws IOException {
+        this.file = file;
+        access = new RandomAccessFile(file, "rw");
+        channel = access.getChannel();
+        count = channel.size() / ScoreRecord.SIZE;
+
+        // only the tail can be torn, appends go in order
+        while (count > 0 && !isValid(count - 1)) {
+            count--;
+        }
+
+        if (channel.size() != count * ScoreRecord.SIZE) {
+            channel.truncate(count * ScoreRecord.SIZE);
+        }
+    }
+
+    // == package methods ==
+    File getFile() {
+        return file;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    // returns the index of the new record
+    long append(long timestamp, long seed, int score, int ticks, int difficulty) throws IOException {
+        ScoreRecord.write(record, 0, timestamp, seed, score, ticks, difficulty);
+        record.clear();
+        long position = count * ScoreRecord.SIZE;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        return count++;
+    }
+
+    // the record append() just wrote, at offset 0, overwritten by the next append
+    ByteBuffer getLastRecord() {
+        return record;
+    }
+
+    // reads whole records from index first into buffer, from its position up to its limit
+    // returns the number of records read, the buffer is flipped
+    int read(long first, ByteBuffer buffer) throws IOException {
+        int wanted = (int) Math.min(buffer.remaining() / ScoreRecord.SIZE, count - first);
+        if (wanted <= 0) {
+            buffer.flip();
+            return 0;
+        }
+
+        buffer.limit(buffer.position() + wanted * ScoreRecord.SIZE);
+        long position = first * ScoreRecord.SIZE;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException(file + " ended early");
+            }
+            position += read;
+        }
+        buffer.flip();
+        return wanted;
+    }
+
+    void flush() throws IOException {
+        channel.force(false);
+    }
+
+    void close() throws IOException {
+        access.close();
+    }
+
+    // == private methods ==
+    private boolean isValid(long index) throws IOException {
+        record.clear();
+        long position = index * ScoreRecord.SIZE;
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0) {
+                return false;
+            }
+        }
+        return ScoreRecord.isValid(record, 0);
+    }
+}
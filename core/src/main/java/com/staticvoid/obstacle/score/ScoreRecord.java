@@ -0,0 +1,84 @@
+package com.staticvoid.obstacle.score;
+
+import java.nio.ByteBuffer;
+
+/*
+* one finished game, fixed width, the same layout in the score log and the top score index
+* bytes:  timestamp (8)  seed (8)  score (4)  ticks (4)  difficulty ordinal (4)  checksum (4)
+* the checksum tells a record apart from the zeros or garbage a crash can leave behind
+ */
+final class ScoreRecord {
+
+    static final int SIZE = 32;
+
+    private static final int TIMESTAMP = 0;
+    private static final int SEED = 8;
+    private static final int SCORE = 16;
+    private static final int TICKS = 20;
+    private static final int DIFFICULTY = 24;
+    private static final int CHECKSUM = 28;
+
+    static void write(ByteBuffer buffer, int offset,
+                      long timestamp, long seed, int score, int ticks, int difficulty) {
+        buffer.putLong(offset + TIMESTAMP, timestamp);
+        buffer.putLong(offset + SEED, seed);
+        buffer.putInt(offset + SCORE, score);
+        buffer.putInt(offset + TICKS, ticks);
+        buffer.putInt(offset + DIFFICULTY, difficulty);
+        buffer.putInt(offset + CHECKSUM, checksum(timestamp, seed, score, ticks, difficulty));
+    }
+
+    static void copy(ByteBuffer from, int fromOffset, ByteBuffer to, int toOffset) {
+        for (int i = 0; i < SIZE; i += 8) {
+            to.putLong(toOffset + i, from.getLong(fromOffset + i));
+        }
+    }
+
+    static boolean isValid(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + CHECKSUM) == checksum(getTimestamp(buffer, offset), getSeed(buffer, offset),
+                getScore(buffer, offset), getTicks(buffer, offset), getDifficulty(buffer, offset));
+    }
+
+    static long getTimestamp(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + TIMESTAMP);
+    }
+
+    static long getSeed(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SEED);
+    }
+
+    static int getScore(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + SCORE);
+    }
+
+    static int getTicks(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + TICKS);
+    }
+
+    static int getDifficulty(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + DIFFICULTY);
+    }
+
+    static int getChecksum(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + CHECKSUM);
+    }
+
+    // 64 bit mix of all fields, never 0 for an all zero record
+    private static int checksum(long timestamp, long seed, int score, int ticks, int difficulty) {
+        long hash = 0x9E3779B97F4A7C15L;
+        hash = mix(hash ^ timestamp);
+        hash = mix(hash ^ seed);
+        hash = mix(hash ^ ((long) score << 32 | ticks & 0xFFFFFFFFL));
+        hash = mix(hash ^ difficulty);
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ value >>> 27) * 0x94D049BB133111EBL;
+        return value ^ value >>> 31;
+    }
+
+    private ScoreRecord() {
+    }
+}
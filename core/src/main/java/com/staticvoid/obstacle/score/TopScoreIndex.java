@@ -0,0 +1,207 @@
+package com.staticvoid.obstacle.score;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+* the best games per difficulty level, kept in a small memory mapped file next to the ScoreLog
+* a cache of the log, it can always be rebuilt from it, so nothing in here is synced
+* file:    header (magic, version, capacity, level count, applied records, checksum of the
+*          last applied record, dirty flag) then one block per level
+* block:   entry count, padding to a record, then capacity ScoreRecords, best first,
+*          equal scores keep the earlier game first
+* an insert shifts at most capacity records, a read is one get from the mapped file
+* the dirty flag is set while an insert is under way, an index left dirty by a crash,
+* one that applied more than the log holds or doesn't match its last record is rebuilt,
+* one that is only behind the log catches up on the missing records
+ */
+class TopScoreIndex {
+
+    private static final int MAGIC = 0x4F415449; // "OATI"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int CAPACITY = 8;
+    private static final int LEVEL_COUNT = 12;
+    private static final int APPLIED = 16;
+    private static final int LAST_CHECKSUM = 24;
+    private static final int DIRTY = 28;
+
+    private static final int BLOCK_HEADER_SIZE = ScoreRecord.SIZE;
+    private static final int REPLAY_RECORDS = 4096;
+
+    // -- attributes --
+    private final int capacity;
+    private final int levelCount;
+    private final int blockSize;
+    private final RandomAccessFile access;
+    private final MappedByteBuffer index;
+
+    // constructor
+    TopScoreIndex(File file, int capacity, int levelCount, ScoreLog log) throws IOException {
+        this.capacity = capacity;
+        this.levelCount = levelCount;
+        this.blockSize = BLOCK_HEADER_SIZE + capacity * ScoreRecord.SIZE;
+
+        int size = HEADER_SIZE + levelCount * blockSize;
+        access = new RandomAccessFile(file, "rw");
+        boolean fits = access.length() == size;
+        if (!fits) {
+            access.setLength(size);
+        }
+        index = access.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        if (!fits || !isUsable(log)) {
+            clear();
+        }
+        catchUp(log);
+    }
+
+    // == package methods ==
+    int getCount(int level) {
+        return index.getInt(getBlock(level));
+    }
+
+    int getScore(int level, int rank) {
+        return ScoreRecord.getScore(index, getEntry(level, rank));
+    }
+
+    int getTicks(int level, int rank) {
+        return ScoreRecord.getTicks(index, getEntry(level, rank));
+    }
+
+    long getTimestamp(int level, int rank) {
+        return ScoreRecord.getTimestamp(index, getEntry(level, rank));
+    }
+
+    long getSeed(int level, int rank) {
+        return ScoreRecord.getSeed(index, getEntry(level, rank));
+    }
+
+    long getApplied() {
+        return index.getLong(APPLIED);
+    }
+
+    // adds the record at offset in buffer, which must be the next one in the log
+    void apply(ByteBuffer buffer, int offset) {
+        index.putInt(DIRTY, 1);
+
+        int level = ScoreRecord.getDifficulty(buffer, offset);
+        // a level this build doesn't know is kept in the log but not ranked
+        if (level >= 0 && level < levelCount) {
+            insert(level, buffer, offset);
+        }
+
+        index.putLong(APPLIED, getApplied() + 1);
+        index.putInt(LAST_CHECKSUM, ScoreRecord.getChecksum(buffer, offset));
+        index.putInt(DIRTY, 0);
+    }
+
+    void flush() {
+        index.force();
+    }
+
+    // the mapping itself stays until the buffer is collected, there is no portable unmap
+    void close() throws IOException {
+        access.close();
+    }
+
+    // == private methods ==
+    private void insert(int level, ByteBuffer buffer, int offset) {
+        int block = getBlock(level);
+        int count = index.getInt(block);
+        int score = ScoreRecord.getScore(buffer, offset);
+
+        // after every entry scoring the same or better
+        int rank = count;
+        while (rank > 0 && ScoreRecord.getScore(index, getEntry(level, rank - 1)) < score) {
+            rank--;
+        }
+
+        if (rank == capacity) {
+            return;
+        }
+
+        int last = Math.min(count, capacity - 1);
+        for (int move = last; move > rank; move--) {
+            ScoreRecord.copy(index, getEntry(level, move - 1), index, getEntry(level, move));
+        }
+        ScoreRecord.copy(buffer, offset, index, getEntry(level, rank));
+        index.putInt(block, Math.min(count + 1, capacity));
+    }
+
+    private boolean isUsable(ScoreLog log) throws IOException {
+        if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION
+                || index.getInt(CAPACITY) != capacity || index.getInt(LEVEL_COUNT) != levelCount
+                || index.getInt(DIRTY) != 0) {
+            return false;
+        }
+
+        long applied = getApplied();
+        if (applied < 0 || applied > log.getCount()) {
+            return false;
+        }
+
+        // the same log the index was built from, not a replaced one
+        if (applied > 0) {
+            ByteBuffer record = ByteBuffer.allocate(ScoreRecord.SIZE);
+            log.read(applied - 1, record);
+            if (ScoreRecord.getChecksum(record, 0) != index.getInt(LAST_CHECKSUM)) {
+                return false;
+            }
+        }
+
+        for (int level = 0; level < levelCount; level++) {
+            int count = getCount(level);
+            if (count < 0 || count > capacity) {
+                return false;
+            }
+
+            for (int rank = 0; rank < count; rank++) {
+                if (!ScoreRecord.isValid(index, getEntry(level, rank))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void clear() {
+        for (int position = 0; position < index.capacity(); position += 4) {
+            index.putInt(position, 0);
+        }
+        index.putInt(0, MAGIC);
+        index.putInt(4, VERSION);
+        index.putInt(CAPACITY, capacity);
+        index.putInt(LEVEL_COUNT, levelCount);
+    }
+
+    private void catchUp(ScoreLog log) throws IOException {
+        long applied = getApplied();
+        if (applied == log.getCount()) {
+            return;
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(REPLAY_RECORDS * ScoreRecord.SIZE);
+        while (applied < log.getCount()) {
+            records.clear();
+            int read = log.read(applied, records);
+            for (int i = 0; i < read; i++) {
+                apply(records, i * ScoreRecord.SIZE);
+            }
+            applied += read;
+        }
+    }
+
+    private int getBlock(int level) {
+        return HEADER_SIZE + level * blockSize;
+    }
+
+    private int getEntry(int level, int rank) {
+        return getBlock(level) + BLOCK_HEADER_SIZE + rank * ScoreRecord.SIZE;
+    }
+}
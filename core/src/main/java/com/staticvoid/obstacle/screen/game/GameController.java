@@ -1,58 +1,81 @@
 package com.staticvoid.obstacle.screen.game;
 
-import com.badlogic.gdx.Application;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.Logger;
-import com.staticvoid.obstacle.ObstacleAvoidGame;
-import com.staticvoid.obstacle.assets.AssetDescriptors;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.collision.Broadphase;
+import com.staticvoid.obstacle.collision.BroadphaseType;
 import com.staticvoid.obstacle.common.EntityFactory;
-import com.staticvoid.obstacle.common.GameManager;
-import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
 import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.config.GameRules;
 import com.staticvoid.obstacle.entity.Background;
-import com.staticvoid.obstacle.entity.ObstacleSprite;
+import com.staticvoid.obstacle.entity.ObstacleStore;
 import com.staticvoid.obstacle.entity.PlayerSprite;
-
+import com.staticvoid.obstacle.job.Job;
+import com.staticvoid.obstacle.job.JobGraph;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.job.RangeJob;
+import com.staticvoid.obstacle.replay.ReplayWriter;
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.debug.ProfilerPhase;
+import com.staticvoid.obstacle.util.log.EventLog;
+import com.staticvoid.obstacle.util.log.LogEvent;
+
+// what a step does comes from GameRules, how the steps are put together is mirrored by VectorEnv
+// (headless), which steps many games in flat arrays for bots: a change to update(), the step
+// jobs or restart() goes there as well, VectorEnvCheck fails until both play the same games
 public class GameController {
 
-    private static final Logger log = new Logger(GameController.class.getName(), Application.LOG_DEBUG);
-
     private PlayerSprite player;
-    private Array<ObstacleSprite> obstacles = new Array<ObstacleSprite>();
+    private ObstacleStore obstacles;
+    // swappable at runtime, all implementations give the same result
+    private Broadphase broadphase = BroadphaseType.SORTED_INTERVAL.create();
     private Background background;
+    // disabled unless the screen hands in the one its overlay shows
+    private FrameProfiler profiler = new FrameProfiler();
+    // null runs every step on the calling thread, see setJobSystem
+    private JobSystem jobs;
+    // null records nothing, see setReplayWriter
+    private ReplayWriter replay;
+
+    // one step as jobs, player steering runs next to the obstacle chain
+    private final JobGraph stepGraph = new JobGraph();
+    private float stepDelta;
+    // input is read once per step, before the step jobs run
+    private int stepDirection;
+    private float stepTouchX;
+    private long obstaclesStart;
+    private boolean colliding;
     private float obstacleTimer;
     private float scoreTimer;
 
     private int lives = GameConfig.LIVES_START;
     private int score;
     private int displayScore;
+    private float displayScoreProgress;
+
+    // running totals, reported by the headless simulation
+    private int tick;
+    private int obstaclesSpawned;
+    private int collisions;
 
     // private DifficultyLevel difficultyLevel = DifficultyLevel.EASY;
 
     // returns a ReflectionPool, requires class with no args constructor
     // private Pool<ObstacleSprite> obstaclePool;
-    private Sound hit;
-
-    private final ObstacleAvoidGame game;
-    private final AssetManager assetManager;
+    private final GameContext context;
     // add EntityFactory
     private final EntityFactory factory;
 
     // TODO: Music class
-    // see videos 85-95 for positioning direction
-    private final float startPlayerX = (GameConfig.WORLD_WIDTH - GameConfig.PLAYER_SIZE) / 2f; // 2.6
-    private final float startPlayerY = 1 - GameConfig.PLAYER_SIZE / 2f; // .6
-
-    public GameController(ObstacleAvoidGame game) {
-        this.game = game;
-        assetManager = game.getAssetManager();
-        factory = new EntityFactory(assetManager);
+
+    // all outside state (difficulty, random, input, sound, scores) comes from the context
+    public GameController(GameContext context, EntityFactory factory) {
+        this.context = context;
+        this.factory = factory;
         init();
+        createStepGraph();
     }
 
     private void init() {
@@ -60,72 +83,173 @@ public class GameController {
         player = factory.createPlayer();
 
         // position player
-        player.setPosition(startPlayerX, startPlayerY);
+        player.setPosition(GameRules.START_PLAYER_X, GameRules.START_PLAYER_Y);
+        player.savePreviousPosition();
 
 //        obstaclePool = Pools.get(ObstacleSprite.class, 40);
+        obstacles = factory.createObstacleStore();
 
         background = factory.createBackground();
 //        new Background();
 //        background.setPosition(0, 0);
 //        background.setSize(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT);
+    }
+
+    // step jobs in the order they ran before there were jobs, which is also the order
+    // they run in without a JobSystem:  player, obstacles, score, collision
+    private void createStepGraph() {
+        Job player = stepGraph.add(new Job("player") {
+            @Override
+            protected void execute() {
+                long start = profiler.begin();
+                updatePlayer(stepDelta);
+                profiler.end(ProfilerPhase.PLAYER, start);
+            }
+        });
 
-        hit = assetManager.get(AssetDescriptors.HIT_SOUND);
+        Job moveObstacles = stepGraph.add(new RangeJob("move obstacles", GameConfig.PARALLEL_MIN_CHUNK) {
+            @Override
+            protected void begin() {
+                obstaclesStart = profiler.begin();
+            }
+
+            @Override
+            protected int getRangeSize() {
+                return obstacles.size();
+            }
+
+            @Override
+            protected void execute(int from, int to) {
+                obstacles.update(stepDelta, from, to);
+            }
+        });
+
+        Job spawnObstacles = stepGraph.add(new Job("spawn, remove and index obstacles") {
+            @Override
+            protected void execute() {
+                createNewObstacle(stepDelta);
+                removePassedObstacles();
+                // obstacles are final for this step, index them for the collision check
+                broadphase.update(obstacles);
+                profiler.end(ProfilerPhase.OBSTACLES, obstaclesStart);
+            }
+        }, moveObstacles);
+
+        // scoring draws from its own random stream, it doesn't wait for spawning
+        stepGraph.add(new Job("score") {
+            @Override
+            protected void execute() {
+                long start = profiler.begin();
+                updateScore(stepDelta);
+                updateDisplayScore(stepDelta);
+                profiler.end(ProfilerPhase.SCORE, start);
+            }
+        });
+
+        stepGraph.add(new Job("collision") {
+            @Override
+            protected void execute() {
+                long start = profiler.begin();
+                colliding = isPlayerCollidingWithObstacle();
+                profiler.end(ProfilerPhase.COLLISION, start);
+            }
+        }, player, spawnObstacles);
     }
 
+    // advances the simulation by one fixed step, see FixedTimestep
     public void update(float deltaTime) {
         if (isGameOver()) {
             return;
         }
+        tick++;
+
+        stepDelta = deltaTime;
+        stepDirection = context.getInput().getMoveDirection();
+        stepTouchX = context.getInput().getTouchX();
+        if (replay != null) {
+            replay.recordInput(tick, stepDirection, stepTouchX);
+        }
 
-        updatePlayer();
-        updateObstacles(deltaTime);
-        updateScore(deltaTime);
-        updateDisplayScore(deltaTime);
+        // only big obstacle counts are worth waking the workers for
+        JobSystem system = obstacles.size() >= GameConfig.PARALLEL_OBSTACLE_THRESHOLD ? jobs : null;
+        stepGraph.run(system);
 
-        if (isPlayerCollidingWithObstacle()) {
-            log.debug("Collision Detected!  BAM!");
+        if (colliding) {
             lives--;
+            collisions++;
+            context.getEventLog().log(LogEvent.COLLISION, tick, lives, score);
 
             if (isGameOver()) {
-                log.debug("Game Over");
-                // update high score
-                GameManager.INSTANCE.updateHighScore(score);
+                context.getEventLog().log(LogEvent.GAME_OVER, tick, score, obstaclesSpawned);
+                // update high score and leaderboard
+                context.getScores().recordGame(context.getDifficultyLevel(), context.getSeed(), score, tick);
                 //  game.setScreen(new MenuScreen(game));
             } else {
                 restart();
             }
         }
+
+        if (replay != null) {
+            if (isGameOver() || replay.isChecksumTick(tick)) {
+                replay.recordChecksum(tick, getStateChecksum());
+            }
+            if (isGameOver()) {
+                replay.end(tick);
+            }
+        }
+    }
+
+    // hash of everything the next step depends on, two sessions with the same checksum
+    // after the same tick play on the same, see ReplayRunner
+    public int getStateChecksum() {
+        int hash = tick;
+        hash = 31 * hash + lives;
+        hash = 31 * hash + score;
+        hash = 31 * hash + displayScore;
+        hash = 31 * hash + Float.floatToRawIntBits(displayScoreProgress);
+        hash = 31 * hash + Float.floatToRawIntBits(obstacleTimer);
+        hash = 31 * hash + Float.floatToRawIntBits(scoreTimer);
+        hash = 31 * hash + Float.floatToRawIntBits(player.getX());
+        hash = 31 * hash + Float.floatToRawIntBits(player.getY());
+        long spawnRandom = context.getSpawnRandom().getState();
+        long scoreRandom = context.getScoreRandom().getState();
+        hash = 31 * hash + (int) (spawnRandom ^ spawnRandom >>> 32);
+        hash = 31 * hash + (int) (scoreRandom ^ scoreRandom >>> 32);
+        hash = 31 * hash + obstacles.size();
+        for (int i = 0; i < obstacles.size(); i++) {
+            hash = 31 * hash + Float.floatToRawIntBits(obstacles.getX(i));
+            hash = 31 * hash + Float.floatToRawIntBits(obstacles.getY(i));
+            hash = 31 * hash + (obstacles.isHit(i) ? 1 : 0);
+        }
+        return hash;
     }
 
     private void restart() {
-        factory.freeAll(obstacles);
         obstacles.clear();
-        player.setPosition(startPlayerX, startPlayerY);
+        // renderer queries the index before the next step
+        broadphase.update(obstacles);
+        player.setPosition(GameRules.START_PLAYER_X, GameRules.START_PLAYER_Y);
+        player.savePreviousPosition();
     }
 
     // private methods
-    private void updatePlayer() {
-        // discrete input handling would be optimal
-        float xSpeed = 0;
-
-        // polling, recall this is happening inside Game Screen render method
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            xSpeed = GameConfig.MAX_PLAYER_X_SPEED;
-        } else if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            xSpeed -= GameConfig.MAX_PLAYER_X_SPEED;
+    private void updatePlayer(float deltaTime) {
+        player.savePreviousPosition();
+
+        // dragging puts the player right under the finger
+        if (!Float.isNaN(stepTouchX)) {
+            player.setX(stepTouchX);
+        } else {
+            // discrete input handling would be optimal
+            // -1, 0 or 1 from whatever input source the session was given
+            player.setX(GameRules.movePlayerX(player.getX(), stepDirection, deltaTime));
         }
 
-        player.setX(player.getX() + xSpeed);
-
         blockPlayerFromLeavingTheWorld();
     }
 
     private void blockPlayerFromLeavingTheWorld() {
-        // this line is equivalent to the following commented out lines
-        // feed clamp:  value to clamp, minimum, maximum.
-        float playerX = MathUtils.clamp(player.getX(),
-                0,
-                GameConfig.WORLD_WIDTH - player.getWidth());
+        float playerX = GameRules.clampPlayerX(player.getX());
 
         player.setPosition(playerX, player.getY());
     }
@@ -135,19 +259,21 @@ public class GameController {
         // the longer player lives, the more points racked up
         scoreTimer += deltaTime;
 
-        if (scoreTimer >= GameConfig.SCORE_MAX_TIME) {
-            score += MathUtils.random(1, 5); // min 1, max 4, inclusive/exclusive
+        if (GameRules.isScoreDue(scoreTimer)) {
+            score += GameRules.nextPoints(context.getScoreRandom());
             scoreTimer = 0.0f;
         }
     }
 
     private void updateDisplayScore(float deltaTime) {
-        // 1/60 * 60 --> score increments by one each frame
+        // counts up DISPLAY_SCORE_RATE points per second, the fractional part
+        // carries over so short fixed steps (120Hz etc.) still advance
         if (displayScore < score) {
-            displayScore = Math.min(
-                    score,
-                    displayScore + (int) (60 * deltaTime)
-            );
+            displayScoreProgress += GameConfig.DISPLAY_SCORE_RATE * deltaTime;
+            int points = (int) displayScoreProgress;
+            displayScoreProgress -= points;
+
+            displayScore = Math.min(score, displayScore + points);
         }
     }
 
@@ -155,11 +281,14 @@ public class GameController {
     // for overlap on next few frames
     // result:  player loses just a single life
     private boolean isPlayerCollidingWithObstacle() {
-        for (ObstacleSprite obstacle : obstacles) {
-            if (!obstacle.isHit() && obstacle.isPlayerColliding(player)) {
-                hit.play();
-                return true;
-            }
+        Circle playerBounds = player.getBounds();
+        int index = broadphase.findFirstCollision(obstacles,
+                playerBounds.x, playerBounds.y, playerBounds.radius);
+
+        if (index >= 0) {
+            obstacles.setHit(index);
+            context.getSound().playHit();
+            return true;
         }
         // NOTE:  video 79 -- I like above better, interchangeable
 //        if (obstacle.isNotHit() && obstacle.isPlayerColliding(player)) {
@@ -168,61 +297,69 @@ public class GameController {
         return false;
     }
 
-    private void updateObstacles(float deltaTime) {
-        for (ObstacleSprite obstacle : obstacles) {
-            obstacle.update();
-        }
-
-        createNewObstacle(deltaTime);
-
-        removePassedObstacles();
-    }
-
     private void createNewObstacle(float deltaTime) {
         obstacleTimer += deltaTime;
 
-        if (obstacleTimer > GameConfig.OBSTACLE_SPAWN_TIME) {
-            float min = 0;
-            float max = GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE;
-
-            float obstacleX = MathUtils.random(min, max);
-            float obstacleY = GameConfig.WORLD_HEIGHT;
+        if (GameRules.isSpawnDue(obstacleTimer)) {
+            float obstacleX = GameRules.nextObstacleX(context.getSpawnRandom());
+            float obstacleY = GameRules.OBSTACLE_START_Y;
 
-            ObstacleSprite obstacle = factory.obtain();
-            DifficultyLevel difficultyLevel =
-                    GameManager.INSTANCE.getDifficultyLevel();
-            obstacle.setYSpeed(difficultyLevel.getObstacleSpeed());
-            obstacle.setPosition(obstacleX, obstacleY);
-
-            obstacles.add(obstacle);
+            // factory sets speed from the session's difficulty level
+            factory.spawnObstacle(obstacles, obstacleX, obstacleY);
+            obstaclesSpawned++;
 
             obstacleTimer = 0f;
         }
     }
 
     private void removePassedObstacles() {
-        if (obstacles.size > 0) {
-            ObstacleSprite first = obstacles.first();
+        // single compacting pass, no pool needed as there are no obstacle objects
+        obstacles.removeBelow(GameRules.MIN_OBSTACLE_Y);
+    }
 
-            float minObstacleY = -GameConfig.OBSTACLE_SIZE;  // 0 end of bottom world bounds
+    public void setBroadphaseType(BroadphaseType broadphaseType) {
+        broadphase = broadphaseType.create();
+        broadphase.update(obstacles);
+    }
 
-            if (first.getY() < minObstacleY) {
-                // remove from array
-                obstacles.removeValue(first, true);
-                factory.free(first); // put back in pool, pool resets
-            }
-        }
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    // steps with many obstacles spread over its workers, null keeps everything on the
+    // thread calling update, the outcome is the same either way
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    // records the seed and every step's input so the session can be played again,
+    // the caller closes the writer once the simulation stopped
+    public void setReplayWriter(ReplayWriter replay) {
+        this.replay = replay;
+    }
+
+    // obstacles overlapping the rectangle in index order, for culling, see Broadphase.findInRect
+    public void findObstaclesInRect(float minX, float minY, float maxX, float maxY, IntArray result) {
+        broadphase.findInRect(obstacles, minX, minY, maxX, maxY, result);
     }
 
     public boolean isGameOver() {
         return lives <= 0;
     }
 
+    public InputSource getInput() {
+        return context.getInput();
+    }
+
+    public EventLog getEventLog() {
+        return context.getEventLog();
+    }
+
     public PlayerSprite getPlayer() {
         return player;
     }
 
-    public Array<ObstacleSprite> getObstacles() {
+    public ObstacleStore getObstacles() {
         return obstacles;
     }
 
@@ -237,6 +374,23 @@ public class GameController {
     public int getDisplayScore() {
         return displayScore;
     }
+
+    public int getScore() {
+        return score;
+    }
+
+    // simulation steps since the game started
+    public int getTick() {
+        return tick;
+    }
+
+    public int getObstaclesSpawned() {
+        return obstaclesSpawned;
+    }
+
+    public int getCollisions() {
+        return collisions;
+    }
 }
 
 /*
@@ -0,0 +1,119 @@
+package com.staticvoid.obstacle.screen.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.render.ShapeDrawer;
+import com.staticvoid.obstacle.util.debug.DebugGrid;
+import com.staticvoid.obstacle.util.debug.DebugLayer;
+
+// debug overlay of the game screen, grid and axes as cached lines,
+// collision circles of all entities, everything in a single ShapeDrawer pass
+public class GameDebugRenderer {
+
+    private static final DebugLayer[] LAYERS = DebugLayer.values();
+
+    // circles are 0.4 - 0.6 world units across, 30 segments was more than a pixel can show
+    private static final int CIRCLE_SEGMENTS = 12;
+    private static final float CROSS_SIZE = 0.1f;
+    private static final int GRID_CELL_SIZE = 1;
+
+    // -- attributes --
+    private final Viewport viewport;
+    private final OrthographicCamera camera;
+    private final ShapeDrawer shapes;
+    private final DebugGrid grid = new DebugGrid(GRID_CELL_SIZE);
+
+    // indexed by DebugLayer ordinal, everything on like before
+    private final boolean[] layerEnabled = new boolean[LAYERS.length];
+
+    // constructor
+    public GameDebugRenderer(Viewport viewport, OrthographicCamera camera, ShapeDrawer shapes) {
+        this.viewport = viewport;
+        this.camera = camera;
+        this.shapes = shapes;
+
+        for (int i = 0; i < layerEnabled.length; i++) {
+            layerEnabled[i] = true;
+        }
+    }
+
+    // == public methods ==
+    public void handleToggleInput() {
+        for (DebugLayer layer : LAYERS) {
+            if (Gdx.input.isKeyJustPressed(layer.getToggleKey())) {
+                toggleLayer(layer);
+            }
+        }
+    }
+
+    // viewport must be applied
+    // visibleObstacles -- indices of the obstacles left after culling
+    public void render(WorldSnapshot snapshot, IntArray visibleObstacles) {
+        boolean drawGrid = isLayerEnabled(DebugLayer.GRID);
+        boolean drawAxes = isLayerEnabled(DebugLayer.AXES);
+        boolean drawBounds = isLayerEnabled(DebugLayer.BOUNDS);
+
+        if (!drawGrid && !drawAxes && !drawBounds) {
+            return;
+        }
+
+        if (drawGrid || drawAxes) {
+            grid.update(viewport.getWorldWidth(), viewport.getWorldHeight(), camera.zoom);
+        }
+
+        shapes.begin(camera.combined);
+
+        if (drawBounds) {
+            renderBounds(snapshot, visibleObstacles);
+        }
+
+        if (drawGrid) {
+            shapes.lines(grid.getGridLines());
+        }
+
+        if (drawAxes) {
+            shapes.lines(grid.getAxesLines());
+        }
+
+        shapes.end();
+    }
+
+    // grid is rebuilt on the next render
+    public void resize() {
+        grid.invalidate();
+    }
+
+    public boolean isLayerEnabled(DebugLayer layer) {
+        return layerEnabled[layer.ordinal()];
+    }
+
+    public void setLayerEnabled(DebugLayer layer, boolean enabled) {
+        layerEnabled[layer.ordinal()] = enabled;
+    }
+
+    public void toggleLayer(DebugLayer layer) {
+        setLayerEnabled(layer, !isLayerEnabled(layer));
+    }
+
+    // == private methods ==
+    private void renderBounds(WorldSnapshot snapshot, IntArray visibleObstacles) {
+        shapes.setColor(Color.RED);
+
+        drawCircle(snapshot.getPlayerBoundsX(), snapshot.getPlayerBoundsY(), snapshot.getPlayerBoundsRadius());
+
+        ObstacleStore obstacles = snapshot.getObstacles();
+        for (int k = 0; k < visibleObstacles.size; k++) {
+            int i = visibleObstacles.items[k];
+            drawCircle(obstacles.getCenterX(i), obstacles.getCenterY(i), obstacles.getRadius(i));
+        }
+    }
+
+    private void drawCircle(float x, float y, float radius) {
+        shapes.x(x, y, CROSS_SIZE);
+        shapes.circle(x, y, radius, CIRCLE_SEGMENTS);
+    }
+}
@@ -3,61 +3,97 @@ package com.staticvoid.obstacle.screen.game;
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.staticvoid.obstacle.assets.AssetDescriptors;
 import com.staticvoid.obstacle.assets.RegionNames;
 import com.staticvoid.obstacle.config.GameConfig;
-import com.staticvoid.obstacle.entity.Background;
-import com.staticvoid.obstacle.entity.ObstacleSprite;
-import com.staticvoid.obstacle.entity.PlayerSprite;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.render.BlendMode;
+import com.staticvoid.obstacle.render.ObstacleQuadRenderer;
+import com.staticvoid.obstacle.render.RenderLayer;
+import com.staticvoid.obstacle.render.RenderQueue;
+import com.staticvoid.obstacle.render.ShapeDrawer;
 import com.staticvoid.obstacle.util.GdxUtils;
+import com.staticvoid.obstacle.util.HudCounterText;
 import com.staticvoid.obstacle.util.ViewportUtils;
 import com.staticvoid.obstacle.util.debug.DebugCameraController;
+import com.staticvoid.obstacle.util.debug.DebugKeys;
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.debug.ProfilerPhase;
+import com.staticvoid.obstacle.util.debug.RenderStats;
+import com.staticvoid.obstacle.util.debug.TimingHistogram;
 
 public class GameRenderer implements Disposable {
 
     private static final Logger log = new Logger(GameRenderer.class.getName(), Application.LOG_DEBUG);
 
+    // profiler overlay, ui font is scaled down so a row fits the hud width
+    private static final ProfilerPhase[] PROFILER_PHASES = ProfilerPhase.values();
+    private static final float PROFILER_FONT_SCALE = 0.5f;
+    private static final float PROFILER_ROW_HEIGHT = 22f;
+    private static final float PROFILER_LABEL_X = 20f;
+    private static final float PROFILER_COLUMN_X = 150f;
+    private static final float PROFILER_COLUMN_WIDTH = 80f;
+
+    // obstacles are culled on their stepped position, drawn on the interpolated one,
+    // which is at most a step's travel higher, query that much further down
+    private static final float CULLING_MARGIN = GameConfig.OBSTACLE_SIZE;
+
     private OrthographicCamera camera;
     private Viewport viewport;
-    private ShapeRenderer renderer;
 
     // hud requires another camera and another viewport
     private OrthographicCamera hudCamera;
     private Viewport hudViewport;
 
     private BitmapFont font;
-    private final GlyphLayout layout = new GlyphLayout();
+    private HudCounterText livesText;
+    private HudCounterText scoreText;
+
+    // reused every frame, the gameplay frame must not allocate (GC pauses drop frames)
+    private final IntArray visibleObstacles = new IntArray(GameConfig.OBSTACLE_CAPACITY);
+    private final StringBuilder profilerText = new StringBuilder();
     private DebugCameraController debugCameraController;
+    private GameDebugRenderer debugRenderer;
 
-    private final GameController controller;
     private final AssetManager assetManager;
-    private final SpriteBatch batch;
+    private final Batch batch;
+    private final ShapeDrawer shapes;
+    private final FrameProfiler profiler;
+    private final RenderStats renderStats;
+    // gameplay and hud go out in one batch pass
+    private final RenderQueue renderQueue = new RenderQueue(GameConfig.OBSTACLE_CAPACITY + 8);
 
     private TextureRegion backgroundRegion;
+    private TextureRegion playerRegion;
+    private TextureRegion obstacleRegion;
+    private ObstacleQuadRenderer obstacleRenderer;
 
 //    private TextureRegion playerRegion;
 //    private TextureRegion obstacleRegion;
 //    private TextureRegion backgroundRegion;
 
-    public GameRenderer(SpriteBatch batch, AssetManager assetManager, GameController controller) {
+    // batch and shapes belong to the caller, a QuadMeshBatch and GdxShapeDrawer in the game,
+    // RecordingBatch and RecordingShapeDrawer to run without GL
+    // draws WorldSnapshots only, never the GameController, which runs on another thread
+    public GameRenderer(Batch batch, ShapeDrawer shapes, AssetManager assetManager,
+                        FrameProfiler profiler, RenderStats renderStats) {
         this.batch = batch;
+        this.shapes = shapes;
         this.assetManager = assetManager;
-        this.controller = controller;
+        this.profiler = profiler;
+        this.renderStats = renderStats;
         init();
     }
 
@@ -65,17 +101,28 @@ public class GameRenderer implements Disposable {
     private void init() {
         camera = new OrthographicCamera();
         viewport = new FitViewport(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT, camera);
-        renderer = new ShapeRenderer();
 
         hudCamera = new OrthographicCamera();
         hudViewport = new FitViewport(GameConfig.HUD_WIDTH, GameConfig.HUD_HEIGHT, hudCamera);
         font = assetManager.get(AssetDescriptors.FONT);
 
+        // single line text is cap height tall, 20 units in from the top corners
+        float hudTextY = GameConfig.HUD_HEIGHT - font.getCapHeight();
+        livesText = new HudCounterText(font, "LIVES: ", 20, hudTextY);
+        scoreText = new HudCounterText(font, "SCORE: ", 0, hudTextY,
+                GameConfig.HUD_WIDTH - 20, Align.right);
+
 
         // create debug camera controller
         debugCameraController = new DebugCameraController();
         debugCameraController.setStartPosition(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_CENTER_Y);
 
+        debugRenderer = new GameDebugRenderer(viewport, camera, shapes);
+
+        renderQueue.setProjection(RenderLayer.BACKGROUND, camera.combined);
+        renderQueue.setProjection(RenderLayer.GAMEPLAY, camera.combined);
+        renderQueue.setProjection(RenderLayer.HUD, hudCamera.combined);
+
         // TextureAtlas gamePlayAtlas = assetManager.get(AssetDescriptors.GAME_PLAY);
 
 //        playerRegion = gamePlayAtlas.findRegion(RegionNames.PLAYER);
@@ -84,146 +131,169 @@ public class GameRenderer implements Disposable {
 
         TextureAtlas gamePlayAtlas = assetManager.get(AssetDescriptors.GAME_PLAY);
         backgroundRegion = gamePlayAtlas.findRegion(RegionNames.BACKGROUND);
+        playerRegion = gamePlayAtlas.findRegion(RegionNames.PLAYER);
+        obstacleRegion = gamePlayAtlas.findRegion(RegionNames.OBSTACLE);
+        obstacleRenderer = new ObstacleQuadRenderer(obstacleRegion, GameConfig.OBSTACLE_CAPACITY);
     }
 
     // == public methods ==
-    public void render(float delta) {
+    // alpha -- 0 to 1 position between the previous and current simulation step,
+    // see WorldSnapshot.getAlpha
+    public void render(float delta, WorldSnapshot snapshot, float alpha) {
         // not wrapping inside alive cuz we want to be able to control camera even when there is game over
         debugCameraController.handleDebugInput(delta);
         debugCameraController.applyTo(camera);
 
-        if (Gdx.input.isTouched() && !controller.isGameOver()) {
-            Vector2 screenTouch = new Vector2(Gdx.input.getX(), Gdx.input.getY());
-            Vector2 worldTouch = viewport.unproject(new Vector2(screenTouch));
-
-            System.out.println("screenTouch= " + screenTouch);
-            System.out.println("worldTouch= " + worldTouch);
-
-            PlayerSprite player = controller.getPlayer();
-            worldTouch.x = MathUtils.clamp(worldTouch.x, 0, GameConfig.WORLD_WIDTH - player.getWidth());
-            player.setX(worldTouch.x);
+        if (Gdx.input.isKeyJustPressed(DebugKeys.TOGGLE_PROFILER)) {
+            profiler.toggle();
         }
+        debugRenderer.handleToggleInput();
 
         // clear screen
         GdxUtils.clearScreen();
 
-        renderGamePlay();
+        // world and hud viewports fit the same aspect ratio, so they cover the same
+        // screen area and one apply serves both layers of the render queue
+        viewport.apply();
+
+        long start = profiler.begin();
+        cullObstacles(snapshot);
+        renderGamePlay(snapshot, alpha);
+        profiler.end(ProfilerPhase.RENDER_GAMEPLAY, start);
 
         // render ui/hud
-        renderUi();
+        start = profiler.begin();
+        renderUi(snapshot);
+        profiler.end(ProfilerPhase.RENDER_UI, start);
+
+        start = profiler.begin();
+        renderQueue.flush(batch);
+        profiler.end(ProfilerPhase.RENDER_QUEUE, start);
 
         // render debug graphics
-        renderDebug();
+        start = profiler.begin();
+        renderDebug(snapshot);
+        profiler.end(ProfilerPhase.RENDER_DEBUG, start);
+
+        // not timed itself, it only reads the histograms
+        if (profiler.isEnabled()) {
+            renderProfiler();
+        }
+    }
+
+    // world viewport, touches are unprojected with it, see GameInputProcessor
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    // null keeps all per frame work on the render thread
+    public void setJobSystem(JobSystem jobs) {
+        obstacleRenderer.setJobSystem(jobs);
     }
 
     public void resize(int width, int height) {
         viewport.update(width, height, true);
         hudViewport.update(width, height, true);
+        debugRenderer.resize();
         ViewportUtils.debugPixelPerUnit(viewport);
     }
 
     @Override
     public void dispose() {
-        renderer.dispose();
+        // nothing GL of our own, batch and shapes are disposed by whoever passed them in
     }
 
     // == private methods ==
-    private void renderGamePlay() {
-        viewport.apply();
-        batch.setProjectionMatrix(camera.combined);
-        batch.begin();
+    // obstacles inside the active camera's view, debug camera zoom included
+    private void cullObstacles(WorldSnapshot snapshot) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+
+        snapshot.findObstaclesInRect(
+                camera.position.x - halfWidth, camera.position.y - halfHeight - CULLING_MARGIN,
+                camera.position.x + halfWidth, camera.position.y + halfHeight,
+                visibleObstacles);
+
+        int total = snapshot.getObstacles().size();
+        renderStats.addCulling(visibleObstacles.size, total - visibleObstacles.size);
+    }
 
+    // submits to the render queue, drawn in render()
+    private void renderGamePlay(WorldSnapshot snapshot, float alpha) {
         // draw background
-        Background background = controller.getBackground();
-        batch.draw(backgroundRegion,
-                background.getX(), background.getY(),
-                background.getWidth(), background.getHeight());
+        // background is opaque and covers the world, no blending needed
+        renderQueue.submit(RenderLayer.BACKGROUND, BlendMode.OPAQUE, backgroundRegion,
+                snapshot.getBackgroundX(), snapshot.getBackgroundY(),
+                snapshot.getBackgroundWidth(), snapshot.getBackgroundHeight());
 
         // alternatively, background could be generated by EntityFactory
         // or simply draw the background region texture at zero with world width and height
 
-        // draw background
-//        Background background = controller.getBackground();
-//        batch.draw(backgroundRegion,
-//                background.getX(), background.getY(),
-//                background.getWidth(), background.getHeight()
-//        );
-
         // draw player
-        PlayerSprite player = controller.getPlayer();
-        player.draw(batch);
-        // NOTE:  Sprite knows how to draw itself
-        // always, if using Sprite, have the sprite draw itself as above
-        // otherwise possible to fail to take into account properties baked into
-        // Sprite such as origin, scale, etc. etc.
-
-//        batch.draw(player,
-//                player.getX(), player.getY(),
-//                player.getWidth(), player.getHeight()
-//        );
+        // at the interpolated position, the snapshot keeps the previous and current step's
+        renderQueue.submit(RenderLayer.GAMEPLAY, BlendMode.ALPHA, playerRegion,
+                snapshot.getInterpolatedPlayerX(alpha), snapshot.getInterpolatedPlayerY(alpha),
+                snapshot.getPlayerWidth(), snapshot.getPlayerHeight());
 
         // draw obstacles
-        for (ObstacleSprite obstacle : controller.getObstacles()) {
-            obstacle.draw(batch);
-//            batch.draw(obstacleRegion,
-//                    obstacle.getX(), obstacle.getY(),
-//                    obstacle.getWidth(), obstacle.getHeight()
-            //  );
-        }
+        // obstacles are plain arrays, no Sprite per obstacle, their quads are written
+        // straight from the store into one vertex array, only those cullObstacles found visible
+        obstacleRenderer.update(snapshot.getObstacles(), visibleObstacles, alpha);
+        renderQueue.submit(RenderLayer.GAMEPLAY, BlendMode.ALPHA, obstacleRenderer);
+    }
 
-        batch.end();
+    // submits to the render queue, drawn in render()
+    private void renderUi(WorldSnapshot snapshot) {
+        // glyphs are only laid out again when the value changed
+        livesText.setValue(snapshot.getLives());
+        scoreText.setValue(snapshot.getDisplayScore());
+
+        renderQueue.submit(RenderLayer.HUD, BlendMode.ALPHA, livesText);
+        renderQueue.submit(RenderLayer.HUD, BlendMode.ALPHA, scoreText);
     }
 
-    private void renderUi() {
+    private void renderDebug(WorldSnapshot snapshot) {
+        viewport.apply();
+        debugRenderer.render(snapshot, visibleObstacles);
+    }
+
+    // one row per phase:  p50 p95 p99 max, in microseconds
+    private void renderProfiler() {
         hudViewport.apply();
         batch.setProjectionMatrix(hudCamera.combined);
         batch.begin();
 
-        String livesText = "LIVES: " + controller.getLives();
-        layout.setText(font, livesText);
-
-        font.draw(batch, livesText,
-                20,
-                GameConfig.HUD_HEIGHT - layout.height
-        );
+        font.getData().setScale(PROFILER_FONT_SCALE);
 
-        String scoreText = "SCORE: " + controller.getDisplayScore();
-        layout.setText(font, scoreText);
+        float y = GameConfig.HUD_HEIGHT - 80f;
+        font.draw(batch, "us", PROFILER_LABEL_X, y);
+        font.draw(batch, "p50", PROFILER_COLUMN_X, y);
+        font.draw(batch, "p95", PROFILER_COLUMN_X + PROFILER_COLUMN_WIDTH, y);
+        font.draw(batch, "p99", PROFILER_COLUMN_X + 2 * PROFILER_COLUMN_WIDTH, y);
+        font.draw(batch, "max", PROFILER_COLUMN_X + 3 * PROFILER_COLUMN_WIDTH, y);
 
-        font.draw(batch, scoreText,
-                GameConfig.HUD_WIDTH - layout.width - 20,
-                GameConfig.HUD_HEIGHT - layout.height
-        );
+        for (ProfilerPhase phase : PROFILER_PHASES) {
+            y -= PROFILER_ROW_HEIGHT;
+            TimingHistogram histogram = profiler.getHistogram(phase);
 
-        batch.end();
-    }
-
-    private void renderDebug() {
-        viewport.apply();
-        // draw red round PlayerSprite
-        Color oldColor = renderer.getColor().cpy();
-        renderer.setProjectionMatrix(camera.combined);
-        renderer.begin(ShapeRenderer.ShapeType.Line);
-
-        drawDebug();
-
-        renderer.end();
+            font.draw(batch, phase.getLabel(), PROFILER_LABEL_X, y);
+            drawMicros(histogram.getPercentile(50), PROFILER_COLUMN_X, y);
+            drawMicros(histogram.getPercentile(95), PROFILER_COLUMN_X + PROFILER_COLUMN_WIDTH, y);
+            drawMicros(histogram.getPercentile(99), PROFILER_COLUMN_X + 2 * PROFILER_COLUMN_WIDTH, y);
+            drawMicros(histogram.getMax(), PROFILER_COLUMN_X + 3 * PROFILER_COLUMN_WIDTH, y);
+        }
 
-        renderer.setColor(oldColor);
+        font.getData().setScale(1f);
 
-        ViewportUtils.drawGrid(viewport, renderer);
+        batch.end();
     }
 
-    private void drawDebug() {
-        renderer.setColor(Color.RED);
-        PlayerSprite player = controller.getPlayer();
-        player.drawDebug(renderer);
-//
-        Array<ObstacleSprite> obstacles = controller.getObstacles();
-//
-        for (ObstacleSprite obstacle : obstacles) {
-            obstacle.drawDebug(renderer);
-        }
+    // nanos as microseconds with one decimal, integer math so nothing is allocated
+    private void drawMicros(long nanos, float x, float y) {
+        long tenths = nanos / 100;
+        profilerText.setLength(0);
+        profilerText.append(tenths / 10).append('.').append((int) (tenths % 10));
+        font.draw(batch, profilerText, x, y);
     }
 }
 
@@ -237,5 +307,7 @@ Optimal solution would be to create A Model for the game world and
 
  See Video 95 for brief overview of MVC solution.
 
+ Done:  WorldSnapshot is that model, GameSimulation fills it on its own thread.
+
  TextureAtlas yields 50% reduction in Texture swap render calls! Use it!
  */
\ No newline at end of file
@@ -1,21 +1,53 @@
 package com.staticvoid.obstacle.screen.game;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.staticvoid.obstacle.ObstacleAvoidGame;
+import com.staticvoid.obstacle.assets.AssetDescriptors;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.EventInputSource;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.GameManager;
+import com.staticvoid.obstacle.common.GameInputProcessor;
+import com.staticvoid.obstacle.common.GdxSoundSink;
+import com.staticvoid.obstacle.common.InputEventQueue;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.render.GdxShapeDrawer;
+import com.staticvoid.obstacle.replay.ReplayWriter;
 import com.staticvoid.obstacle.screen.menu.MenuScreen;
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.debug.ProfilerPhase;
 
 // Rendering and game logic are neatly separated
 public class GameScreen implements Screen {
 
     private static final Logger log = new Logger(GameScreen.class.getName(), Logger.DEBUG);
 
+    // a few seconds of key presses and touch drags at 60 frames per second
+    private static final int INPUT_QUEUE_CAPACITY = 1024;
+    // every session is recorded, a few bytes per second of play
+    private static final String REPLAY_DIRECTORY = "replays/";
+
     private final ObstacleAvoidGame game;
     private final AssetManager assetManager;
-
-    private GameController controller;
+    // shared by controller and renderer, toggled in game with DebugKeys.TOGGLE_PROFILER
+    // each thread records its own phases, the overlay reading them is display only
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    private final InputEventQueue inputQueue = new InputEventQueue(INPUT_QUEUE_CAPACITY);
+    // event time of the newest input already shown on screen
+    private long shownInputTime;
+    // shared by simulation and renderer, both only use it for large obstacle counts
+    private JobSystem jobs;
+    private GameSimulation simulation;
+    private ReplayWriter replay;
     private GameRenderer renderer;
+    private GdxShapeDrawer shapes;
 
     public GameScreen(ObstacleAvoidGame game) {
         this.game = game;
@@ -25,16 +57,42 @@ public class GameScreen implements Screen {
     @Override
     public void show() {
         log.debug("show()");
-        controller = new GameController(game);
-        renderer = new GameRenderer(game.getBatch(), assetManager, controller);
+        // one context per game session, steering comes from the arrow keys and touch,
+        // queued as events on the render thread and replayed step by step on the simulation thread
+        GameContext context = new GameContext(
+                GameManager.INSTANCE.getDifficultyLevel(),
+                MathUtils.random.nextLong(),
+                new EventInputSource(inputQueue),
+                new GdxSoundSink(assetManager.get(AssetDescriptors.HIT_SOUND)),
+                GameManager.INSTANCE,
+                game.getEventLog()
+        );
+        jobs = new JobSystem(JobSystem.defaultWorkerCount());
+        GameController controller = new GameController(context, new EntityFactory(context, assetManager));
+        controller.setProfiler(profiler);
+        controller.setJobSystem(jobs);
+        replay = new ReplayWriter(
+                Gdx.files.local(REPLAY_DIRECTORY + "replay-" + TimeUtils.millis() + ".bin").file(),
+                context, GameConfig.SIM_TICKS_PER_SECOND, ReplayWriter.DEFAULT_CHECKSUM_INTERVAL);
+        controller.setReplayWriter(replay);
+        simulation = new GameSimulation(controller);
+        shapes = new GdxShapeDrawer();
+        renderer = new GameRenderer(game.getBatch(), shapes, assetManager, profiler,
+                game.getRenderStats());
+        renderer.setJobSystem(jobs);
+        Gdx.input.setInputProcessor(new GameInputProcessor(inputQueue, renderer.getViewport()));
+        simulation.start();
     }
 
     @Override
     public void render(float delta) {
-        controller.update(delta);
-        renderer.render(delta);
+        // simulation runs in fixed steps on its own thread, renderer draws its newest
+        // snapshot and blends between the last two steps
+        WorldSnapshot snapshot = simulation.acquireSnapshot();
+        renderer.render(delta, snapshot, snapshot.getAlpha(TimeUtils.nanoTime()));
+        recordInputLatency(snapshot.getInputTime());
 
-        if(controller.isGameOver()) {
+        if(snapshot.isGameOver()) {
             game.setScreen(new MenuScreen(game));
         }
     }
@@ -46,23 +104,45 @@ public class GameScreen implements Screen {
 
     @Override
     public void pause() {
-
+        // android may end the process any time after pause, the replay so far goes to the file
+        if (simulation.pause()) {
+            replay.flush();
+        } else {
+            log.error("Simulation thread did not pause, replay not flushed");
+        }
     }
 
     @Override
     public void resume() {
-
+        simulation.resume();
     }
 
     @Override
     public void hide() {
         log.debug("hide");
+        Gdx.input.setInputProcessor(null);
         dispose();
     }
 
     @Override
     public void dispose() {
+        // replay and workers are used by the simulation thread until it ended
+        if (simulation.stop()) {
+            replay.close();
+            jobs.dispose();
+        } else {
+            log.error("Simulation thread did not stop, replay and job workers left open");
+        }
         renderer.dispose();
+        shapes.dispose();
     }
-}
 
+    // input to photon, measured up to the end of the frame submission, buffer swap and
+    // display scan out come on top and are the same for any input handling
+    private void recordInputLatency(long inputTime) {
+        if (inputTime != shownInputTime) {
+            shownInputTime = inputTime;
+            profiler.end(ProfilerPhase.INPUT_LATENCY, inputTime);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.staticvoid.obstacle.screen.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.staticvoid.obstacle.common.FixedTimestep;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.util.TripleBuffer;
+import com.staticvoid.obstacle.util.log.EventLog;
+import com.staticvoid.obstacle.util.log.LogEvent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/*
+* runs GameController on its own thread in fixed steps and publishes a WorldSnapshot
+* after each batch of steps, the render thread only ever draws the newest snapshot
+* so simulation and render submission overlap instead of running one after the other
+* everything the controller reads from outside (input, sound) must be safe to use off
+* the render thread, see EventInputSource and GdxSoundSink
+ */
+public class GameSimulation implements Runnable {
+
+    private static final float NANOS_PER_SECOND = 1_000_000_000f;
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+    private static final long PAUSE_TIMEOUT_NANOS = 1_000_000_000L;
+    private static final long PAUSE_POLL_NANOS = 1_000_000L;
+
+    // -- attributes --
+    private final GameController controller;
+    private final InputSource input;
+    private final EventLog eventLog;
+    private final FixedTimestep timestep = new FixedTimestep(
+            GameConfig.SIM_TICKS_PER_SECOND, GameConfig.MAX_SIM_STEPS_PER_FRAME);
+    private final TripleBuffer<WorldSnapshot> snapshots = new TripleBuffer<>(
+            new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot());
+    private final long stepNanos = (long) (timestep.getStepTime() * NANOS_PER_SECOND);
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    // set by the simulation thread while it waits for resume
+    private volatile boolean parked;
+    // rethrown on the render thread, a dead simulation would otherwise just freeze the game
+    private volatile Throwable failure;
+
+    // constructor
+    public GameSimulation(GameController controller) {
+        if (controller == null) {
+            throw new IllegalArgumentException("Controller param required");
+        }
+
+        this.controller = controller;
+        this.input = controller.getInput();
+        this.eventLog = controller.getEventLog();
+        // the renderer has a snapshot to draw before the first step ran
+        publish(System.nanoTime());
+    }
+
+    // == public methods ==
+    public void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Simulation already started");
+        }
+
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // waits for the current steps to finish, true once the thread ended and the controller
+    // (and whatever it writes to) is not touched anymore, false if it is still running after
+    // the timeout, nothing it uses may be closed then
+    public boolean stop() {
+        running = false;
+        if (thread == null) {
+            return true;
+        }
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            return false;
+        }
+        thread = null;
+        return true;
+    }
+
+    // time does not pass while paused, no catch up steps on resume
+    // waits for the current steps to finish, true once the controller (and whatever it writes
+    // to) is not touched until resume, false if the thread is still stepping after the timeout
+    public boolean pause() {
+        paused = true;
+        if (thread == null) {
+            return true;
+        }
+
+        LockSupport.unpark(thread);
+        long deadline = System.nanoTime() + PAUSE_TIMEOUT_NANOS;
+        while (!parked && thread.isAlive()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, PAUSE_POLL_NANOS);
+        }
+        return true;
+    }
+
+    public void resume() {
+        paused = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // render thread, newest published snapshot, stays valid until the next call
+    public WorldSnapshot acquireSnapshot() {
+        Throwable error = failure;
+        if (error != null) {
+            throw new GdxRuntimeException("Simulation thread failed", error);
+        }
+        return snapshots.acquire();
+    }
+
+    @Override
+    public void run() {
+        try {
+            simulate();
+        } catch (Throwable t) {
+            eventLog.log(LogEvent.SIMULATION_FAILED, controller.getTick());
+            failure = t;
+        }
+    }
+
+    // == private methods ==
+    private void simulate() {
+        long previousTime = System.nanoTime();
+
+        while (running && !controller.isGameOver()) {
+            if (paused) {
+                parked = true;
+                LockSupport.park(this);
+                parked = false;
+                previousTime = System.nanoTime();
+                timestep.reset();
+                continue;
+            }
+
+            long now = System.nanoTime();
+            int steps = timestep.advance((now - previousTime) / NANOS_PER_SECOND);
+            previousTime = now;
+
+            // steps that ran late catch up on the input of their own time, the last one
+            // stands for now minus what is left in the accumulator
+            long lastStepTime = now - (long) (timestep.getAlpha() * stepNanos);
+            for (int i = 0; i < steps; i++) {
+                input.advanceTo(lastStepTime - (steps - 1 - i) * stepNanos);
+                controller.update(timestep.getStepTime());
+            }
+
+            if (steps > 0) {
+                publish(now);
+            }
+
+            // sleep until the next step is due
+            long untilNextStep = (long) ((1f - timestep.getAlpha()) * stepNanos);
+            LockSupport.parkNanos(this, untilNextStep);
+        }
+
+        eventLog.log(LogEvent.SIMULATION_STOPPED, controller.getTick(), controller.isGameOver() ? 1 : 0);
+    }
+
+    private void publish(long nanoTime) {
+        snapshots.getBack().capture(controller, timestep.getAlpha(), timestep.getStepTime(), nanoTime);
+        snapshots.publish();
+    }
+}
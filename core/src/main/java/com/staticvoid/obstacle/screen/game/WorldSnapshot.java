@@ -0,0 +1,162 @@
+package com.staticvoid.obstacle.screen.game;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.collision.Broadphase;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.Background;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+
+/*
+* everything GameRenderer draws, copied out of GameController after simulation steps
+* the simulation thread fills one snapshot while the render thread draws another,
+* see GameSimulation, so the renderer never reads state that is being updated
+ */
+public class WorldSnapshot {
+
+    private static final float NANOS_PER_SECOND = 1_000_000_000f;
+
+    // -- attributes --
+    private final ObstacleStore obstacles = new ObstacleStore(GameConfig.OBSTACLE_CAPACITY);
+    // culling index over the copied obstacles, rebuilt on the capturing thread
+    private final Broadphase obstacleIndex = BroadphaseType.SORTED_INTERVAL.create();
+
+    private float playerX;
+    private float playerY;
+    private float playerPreviousX;
+    private float playerPreviousY;
+    private float playerWidth;
+    private float playerHeight;
+    private float playerBoundsRadius;
+
+    private float backgroundX;
+    private float backgroundY;
+    private float backgroundWidth;
+    private float backgroundHeight;
+
+    private int lives;
+    private int score;
+    private int displayScore;
+    private boolean gameOver;
+    // event time of the newest input the simulation applied, see InputSource.getInputTime
+    private long inputTime;
+
+    // when it was captured and how far into the next step the simulation was then
+    private long captureTime;
+    private float captureAlpha;
+    private float stepTime = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    // == public methods ==
+    // alpha, stepTime -- as in FixedTimestep, nanoTime -- System.nanoTime() at capture
+    public void capture(GameController controller, float alpha, float stepTime, long nanoTime) {
+        obstacles.set(controller.getObstacles());
+        obstacleIndex.update(obstacles);
+
+        PlayerSprite player = controller.getPlayer();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerPreviousX = player.getPreviousX();
+        playerPreviousY = player.getPreviousY();
+        playerWidth = player.getWidth();
+        playerHeight = player.getHeight();
+        playerBoundsRadius = player.getBounds().radius;
+
+        Background background = controller.getBackground();
+        backgroundX = background.getX();
+        backgroundY = background.getY();
+        backgroundWidth = background.getWidth();
+        backgroundHeight = background.getHeight();
+
+        lives = controller.getLives();
+        score = controller.getScore();
+        displayScore = controller.getDisplayScore();
+        gameOver = controller.isGameOver();
+        inputTime = controller.getInput().getInputTime();
+
+        captureAlpha = alpha;
+        this.stepTime = stepTime;
+        captureTime = nanoTime;
+    }
+
+    // interpolation alpha for a frame drawn at nanoTime, the simulation kept running since
+    // the capture, stops at 1 (no extrapolation) if the simulation falls behind
+    public float getAlpha(long nanoTime) {
+        float elapsed = (nanoTime - captureTime) / NANOS_PER_SECOND;
+        return Math.max(0f, Math.min(captureAlpha + elapsed / stepTime, 1f));
+    }
+
+    // obstacles overlapping the rectangle in index order, for culling
+    public void findObstaclesInRect(float minX, float minY, float maxX, float maxY, IntArray result) {
+        obstacleIndex.findInRect(obstacles, minX, minY, maxX, maxY, result);
+    }
+
+    public ObstacleStore getObstacles() {
+        return obstacles;
+    }
+
+    public float getInterpolatedPlayerX(float alpha) {
+        return playerPreviousX + (playerX - playerPreviousX) * alpha;
+    }
+
+    public float getInterpolatedPlayerY(float alpha) {
+        return playerPreviousY + (playerY - playerPreviousY) * alpha;
+    }
+
+    // bounds circle sits in the middle of the sprite, same as GameSpriteBase.updateBounds
+    public float getPlayerBoundsX() {
+        return playerX + playerWidth / 2f;
+    }
+
+    public float getPlayerBoundsY() {
+        return playerY + playerHeight / 2f;
+    }
+
+    public float getPlayerBoundsRadius() {
+        return playerBoundsRadius;
+    }
+
+    public float getPlayerWidth() {
+        return playerWidth;
+    }
+
+    public float getPlayerHeight() {
+        return playerHeight;
+    }
+
+    public float getBackgroundX() {
+        return backgroundX;
+    }
+
+    public float getBackgroundY() {
+        return backgroundY;
+    }
+
+    public float getBackgroundWidth() {
+        return backgroundWidth;
+    }
+
+    public float getBackgroundHeight() {
+        return backgroundHeight;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDisplayScore() {
+        return displayScore;
+    }
+
+    public long getInputTime() {
+        return inputTime;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
@@ -17,6 +17,13 @@ import com.staticvoid.obstacle.ObstacleAvoidGame;
 import com.staticvoid.obstacle.assets.AssetDescriptors;
 import com.staticvoid.obstacle.assets.RegionNames;
 import com.staticvoid.obstacle.common.GameManager;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.score.Leaderboard;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
 
 public class HighScoreScreen extends MenuScreenBase {
 
@@ -52,6 +59,9 @@ public class HighScoreScreen extends MenuScreenBase {
         String highScoreString = GameManager.INSTANCE.getHighScoreString();
         Label highScoreLabel = new Label(highScoreString, uiskin);
 
+        // best games on the current difficulty
+        Table leaderboardTable = createLeaderboardTable(uiskin);
+
         // back button
         TextButton backButton = new TextButton("BACK", uiskin);
         backButton.addListener(new ChangeListener() {
@@ -67,6 +77,7 @@ public class HighScoreScreen extends MenuScreenBase {
         contentTable.setBackground(RegionNames.PANEL);
         contentTable.add(highScoreText).row();
         contentTable.add(highScoreLabel).row();
+        contentTable.add(leaderboardTable).row();
         contentTable.add(backButton);
 
         contentTable.center();
@@ -81,6 +92,27 @@ public class HighScoreScreen extends MenuScreenBase {
         return table;
     }
 
+    // one row per rank, read straight from the leaderboard index
+    private Table createLeaderboardTable(Skin uiskin) {
+        DifficultyLevel difficultyLevel = GameManager.INSTANCE.getDifficultyLevel();
+        Leaderboard leaderboard = GameManager.INSTANCE.getLeaderboard();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.ROOT);
+
+        Table leaderboardTable = new Table(uiskin);
+        leaderboardTable.defaults().pad(2, 8, 2, 8);
+        leaderboardTable.add(difficultyLevel.name()).colspan(4).row();
+
+        int count = leaderboard.getCount(difficultyLevel);
+        for (int rank = 0; rank < count; rank++) {
+            int seconds = leaderboard.getTicks(difficultyLevel, rank) / GameConfig.SIM_TICKS_PER_SECOND;
+            leaderboardTable.add(String.valueOf(rank + 1)).right();
+            leaderboardTable.add(String.valueOf(leaderboard.getScore(difficultyLevel, rank))).right();
+            leaderboardTable.add(seconds / 60 + ":" + (seconds % 60 < 10 ? "0" : "") + seconds % 60).right();
+            leaderboardTable.add(dateFormat.format(new Date(leaderboard.getTimestamp(difficultyLevel, rank)))).row();
+        }
+        return leaderboardTable;
+    }
+
     private void back() {
         // highscore screen back to menu screen
         log.debug("back()");
@@ -0,0 +1,120 @@
+package com.staticvoid.obstacle.util;
+
+/*
+* seedable, splittable random number generator (SplitMix64), one per stream and thread
+* the state is a counter moving by a fixed odd gamma per draw, each value is that counter
+* run through a 64 bit mix, so jumping n draws ahead is one multiply-add
+* split() hands out a new generator with its own seed and gamma taken from this one,
+* the streams don't overlap, e.g. one per session, per purpose or per parallel worker
+* the same seed always gives the same values, on every platform
+* not thread safe, there is nothing shared to lock, draws never allocate
+* (java.util.SplittableRandom does the same but needs Android API 24)
+ */
+public class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+    // -- attributes --
+    private long seed;
+    private long gamma;
+
+    // constructor
+    public GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private GameRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    // == public methods ==
+    // a generator independent of this one, draws twice from this one
+    public GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    // same as split() into a generator that already exists, nothing is allocated
+    public void split(GameRandom result) {
+        result.seed = nextLong();
+        result.gamma = mixGamma(nextSeed());
+    }
+
+    // starts over as if just created with this seed
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.gamma = GOLDEN_GAMMA;
+    }
+
+    // skips the next draws, as if nextLong was called that many times
+    public void jump(long draws) {
+        seed += draws * gamma;
+    }
+
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    // 0 inclusive to bound exclusive, no modulo bias
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int value = mix32(nextSeed());
+        int mask = bound - 1;
+        if ((bound & mask) == 0) {
+            return value & mask;
+        }
+
+        // rejects the top values that would make lower results more likely
+        for (int unsigned = value >>> 1; unsigned + mask - (value = unsigned % bound) < 0; ) {
+            unsigned = mix32(nextSeed()) >>> 1;
+        }
+        return value;
+    }
+
+    // 0 inclusive to 1 exclusive
+    public float nextFloat() {
+        return (mix32(nextSeed()) >>> 8) * FLOAT_UNIT;
+    }
+
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+
+    // changes with every draw, for checksums of the world state
+    public long getState() {
+        return seed;
+    }
+
+    // == private methods ==
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+        return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+    }
+
+    // odd, with enough bit flips between neighbours to mix well
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int flips = Long.bitCount(z ^ (z >>> 1));
+        return flips < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+}
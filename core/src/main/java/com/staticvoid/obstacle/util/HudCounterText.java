@@ -0,0 +1,82 @@
+package com.staticvoid.obstacle.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.staticvoid.obstacle.render.BatchDrawable;
+
+/*
+* "LABEL: 123" hud text whose glyph vertices are cached
+* layout only runs when the value changes, drawing is a copy of the cached vertices
+ */
+public class HudCounterText implements BatchDrawable {
+
+    // -- attributes --
+    private final BitmapFontCache cache;
+    private final String label;
+    private final float x;
+    private final float y;
+    private final float targetWidth;
+    private final int halign;
+
+    // reused char buffer, StringBuilder.append(int) writes the digits without a String
+    private final StringBuilder text = new StringBuilder();
+
+    private int value;
+    private boolean built;
+
+    // x, y -- top left of the text, or of the area the text is aligned in
+    // targetWidth, halign -- as in BitmapFont.draw, Align.left with 0 width for plain text
+    public HudCounterText(BitmapFont font, String label, float x, float y, float targetWidth, int halign) {
+        if (font == null) {
+            throw new IllegalArgumentException("Font param required");
+        }
+
+        this.cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        this.label = label;
+        this.x = x;
+        this.y = y;
+        this.targetWidth = targetWidth;
+        this.halign = halign;
+
+        // lay out the longest possible text once, so the cache's vertex arrays and the
+        // glyph pools are already big enough when the value gains digits in game
+        text.append(label).append(Integer.MIN_VALUE);
+        cache.setText(text, x, y, targetWidth, halign, false);
+    }
+
+    public HudCounterText(BitmapFont font, String label, float x, float y) {
+        this(font, label, x, y, 0f, Align.left);
+    }
+
+    // == public methods ==
+    public void setValue(int value) {
+        if (built && value == this.value) {
+            return;
+        }
+
+        this.value = value;
+        built = true;
+
+        text.setLength(0);
+        text.append(label).append(value);
+        cache.setText(text, x, y, targetWidth, halign, false);
+    }
+
+    @Override
+    public Texture getTexture() {
+        return cache.getFont().getRegion().getTexture();
+    }
+
+    @Override
+    public void draw(Batch batch) {
+        cache.draw(batch);
+    }
+
+    public int getValue() {
+        return value;
+    }
+}
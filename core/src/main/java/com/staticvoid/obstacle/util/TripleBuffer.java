@@ -0,0 +1,58 @@
+package com.staticvoid.obstacle.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* lock-free hand over of the newest value from one writer thread to one reader thread
+* the writer fills its back buffer and publishes it, the reader takes the newest published one,
+* neither side ever waits for the other and no buffer is written while it is being read
+ */
+public class TripleBuffer<T> {
+
+    // middle slot holds a buffer index, FRESH is set until the reader took it
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    // -- attributes --
+    private final Object[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // each only touched by its own thread
+    private int back = 0;
+    private int front = 2;
+
+    // constructor
+    public TripleBuffer(T first, T second, T third) {
+        if (first == null || second == null || third == null) {
+            throw new IllegalArgumentException("All three buffers required");
+        }
+
+        if (first == second || first == third || second == third) {
+            throw new IllegalArgumentException("Buffers must be three different instances");
+        }
+
+        buffers = new Object[]{first, second, third};
+    }
+
+    // == public methods ==
+    // writer thread, the buffer to fill next, may still hold an older value
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) buffers[back];
+    }
+
+    // writer thread, hands the back buffer over, getBack() is a different buffer afterwards
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // reader thread, newest published buffer, the reader's own until the next acquire
+    // returns the same buffer again when nothing new was published
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
@@ -34,8 +34,12 @@ public class ViewportUtils {
             cellSize = DEFAULT_CELL_SIZE;
         }
 
-        // copy old color from renderer
-        Color oldColor = new Color(renderer.getColor());
+        // remember old color from renderer, as floats so nothing is allocated per call
+        Color color = renderer.getColor();
+        float oldR = color.r;
+        float oldG = color.g;
+        float oldB = color.b;
+        float oldA = color.a;
 
         int worldWidth = (int)viewport.getWorldWidth();
         int worldHeight = (int)viewport.getWorldHeight();
@@ -68,7 +72,7 @@ public class ViewportUtils {
         
         renderer.end();
 
-        renderer.setColor(oldColor);
+        renderer.setColor(oldR, oldG, oldB, oldA);
 
     }
 
@@ -0,0 +1,219 @@
+package com.staticvoid.obstacle.util;
+
+import com.badlogic.gdx.utils.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+* key value settings kept in memory and written to a properties file behind the caller's back
+* puts only mark the store dirty, a background thread writes once the puts stopped coming
+* for a moment, so a burst of changes ends up as one write and no caller ever waits on disk
+* a write goes to a temp file which is synced and then renamed over the real one, a crash
+* leaves either the old or the new file, never a half written one
+* (where rename can't replace a file, Windows, the old one is deleted first and a crash in
+* between leaves only the temp file, which is then loaded instead)
+* flush() writes right away on the calling thread, for pause and dispose, a failed write
+* is logged and tried again later, like on the background thread
+* any thread may get and put
+ */
+public class WriteBehindStore {
+
+    private static final Logger log = new Logger(WriteBehindStore.class.getName(), Logger.DEBUG);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+
+    // -- attributes --
+    private final File file;
+    private final File tempFile;
+    private final long delayNanos;
+
+    // guarded by this
+    private final Properties values = new Properties();
+    private int version;
+
+    // one write at a time, the version last written to the file is only set under it
+    private final Object writeLock = new Object();
+    private volatile int writtenVersion;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // constructor
+    // delayMillis -- how long to wait for more puts before writing
+    public WriteBehindStore(File file, long delayMillis) {
+        if (file == null) {
+            throw new IllegalArgumentException("File param required");
+        }
+
+        this.file = file;
+        this.tempFile = new File(file.getPath() + TEMP_SUFFIX);
+        this.delayNanos = delayMillis * 1_000_000L;
+
+        load();
+
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeUntilStopped();
+            }
+        }, "settings-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // == public methods ==
+    public synchronized boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public synchronized String getString(String key, String defaultValue) {
+        return values.getProperty(key, defaultValue);
+    }
+
+    // a value that isn't a number counts as missing
+    public synchronized int getInteger(String key, int defaultValue) {
+        String value = values.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public void putString(String key, String value) {
+        synchronized (this) {
+            if (value.equals(values.getProperty(key))) {
+                return;
+            }
+            values.setProperty(key, value);
+            version++;
+        }
+        LockSupport.unpark(writer);
+    }
+
+    public void putInteger(String key, int value) {
+        putString(key, Integer.toString(value));
+    }
+
+    // writes pending changes now and waits for a write already under way
+    public void flush() {
+        try {
+            writeIfChanged();
+        } catch (IOException e) {
+            // pause and dispose call this, a full disk is not worth failing the game over
+            // keeps the values in memory, the next put or flush tries again
+            log.error("Could not write " + file, e);
+        }
+    }
+
+    // final flush, later puts stay in memory only
+    public void dispose() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // == private methods ==
+    private void load() {
+        File source = file.exists() ? file : tempFile;
+        if (!source.exists()) {
+            return;
+        }
+
+        try (InputStream in = new FileInputStream(source)) {
+            values.load(in);
+        } catch (IOException e) {
+            // unreadable settings are not worth failing the game over, start from defaults
+            log.error("Could not read " + source + ", using defaults", e);
+            values.clear();
+        }
+    }
+
+    private void writeUntilStopped() {
+        while (running) {
+            if (!isChanged()) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            // let a burst of puts settle, every put restarts the wait
+            int seen;
+            do {
+                seen = getVersion();
+                LockSupport.parkNanos(this, delayNanos);
+            } while (running && getVersion() != seen);
+
+            try {
+                writeIfChanged();
+            } catch (IOException e) {
+                // keeps the values in memory, the next put or flush tries again
+                log.error("Could not write " + file, e);
+                LockSupport.parkNanos(this, delayNanos);
+            }
+        }
+    }
+
+    private void writeIfChanged() throws IOException {
+        synchronized (writeLock) {
+            Properties copy;
+            int copiedVersion;
+            synchronized (this) {
+                if (version == writtenVersion) {
+                    return;
+                }
+                copy = new Properties();
+                copy.putAll(values);
+                copiedVersion = version;
+            }
+
+            write(copy);
+            writtenVersion = copiedVersion;
+        }
+    }
+
+    private void write(Properties copy) throws IOException {
+        // java.io only, java.nio.file needs Android API 26
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        try (FileOutputStream out = new FileOutputStream(tempFile)) {
+            copy.store(out, null);
+            // on disk before the rename makes it the real file
+            out.getFD().sync();
+        }
+
+        if (tempFile.renameTo(file)) {
+            return;
+        }
+
+        if (!file.delete() || !tempFile.renameTo(file)) {
+            throw new IOException("Could not replace " + file + " with " + tempFile);
+        }
+    }
+
+    private synchronized boolean isChanged() {
+        return version != writtenVersion;
+    }
+
+    private synchronized int getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,94 @@
+package com.staticvoid.obstacle.util.debug;
+
+import com.badlogic.gdx.graphics.Color;
+import com.staticvoid.obstacle.render.LineList;
+
+/*
+* the lines of ViewportUtils.drawGrid, built once into LineLists
+* only rebuilt when the world size or zoom changes, the ShapeDrawer keeps them
+* on the gpu in between, so drawing is one call per layer
+ */
+public class DebugGrid {
+
+    private static final int AXES_LINE_COUNT = 4;
+
+    // -- attributes --
+    private final int cellSize;
+    private final LineList gridLines = new LineList(128);
+    private final LineList axesLines = new LineList(AXES_LINE_COUNT);
+
+    // what the current lines were built for, -1 forces a build
+    private float builtWorldWidth = -1;
+    private float builtWorldHeight = -1;
+    private float builtZoom = -1;
+
+    // constructor
+    public DebugGrid(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    // == public methods ==
+    // rebuilds the lines if the world size or the zoom changed since the last build
+    public void update(float worldWidth, float worldHeight, float zoom) {
+        if (worldWidth == builtWorldWidth && worldHeight == builtWorldHeight && zoom == builtZoom) {
+            return;
+        }
+
+        build(worldWidth, worldHeight, zoom);
+        builtWorldWidth = worldWidth;
+        builtWorldHeight = worldHeight;
+        builtZoom = zoom;
+    }
+
+    // next update rebuilds, on resize
+    public void invalidate() {
+        builtWorldWidth = -1;
+    }
+
+    // one line per cell, white
+    public LineList getGridLines() {
+        return gridLines;
+    }
+
+    // x and y axis in red, world bounds in green
+    public LineList getAxesLines() {
+        return axesLines;
+    }
+
+    // == private methods ==
+    private void build(float worldWidth, float worldHeight, float zoom) {
+        int width = (int) worldWidth;
+        int height = (int) worldHeight;
+
+        // twice the world like drawGrid, more when zoomed out past that
+        float coverage = 2 * Math.max(1f, zoom);
+        int extentX = (int) Math.ceil(width * coverage);
+        int extentY = (int) Math.ceil(height * coverage);
+
+        float white = Color.WHITE.toFloatBits();
+        float red = Color.RED.toFloatBits();
+        float green = Color.GREEN.toFloatBits();
+
+        gridLines.clear();
+
+        // vertical lines
+        for (int x = -extentX; x < extentX; x += cellSize) {
+            gridLines.add(x, -extentY, x, extentY, white);
+        }
+
+        // horizontal lines
+        for (int y = -extentY; y < extentY; y += cellSize) {
+            gridLines.add(-extentX, y, extentX, y, white);
+        }
+
+        axesLines.clear();
+
+        // x and y axis, red
+        axesLines.add(0, -extentY, 0, extentY, red);
+        axesLines.add(-extentX, 0, extentX, 0, red);
+
+        // world bounds -- visible on zoom out
+        axesLines.add(0, height, width, height, green);
+        axesLines.add(width, 0, width, height, green);
+    }
+}
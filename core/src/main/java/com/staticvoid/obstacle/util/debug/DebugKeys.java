@@ -0,0 +1,16 @@
+package com.staticvoid.obstacle.util.debug;
+
+import com.badlogic.gdx.Input;
+
+// keys toggling the in game debug overlays
+public class DebugKeys {
+
+    public static final int TOGGLE_PROFILER = Input.Keys.F1;
+    public static final int TOGGLE_RENDER_STATS = Input.Keys.F2;
+    public static final int TOGGLE_DEBUG_GRID = Input.Keys.F3;
+    public static final int TOGGLE_DEBUG_AXES = Input.Keys.F4;
+    public static final int TOGGLE_DEBUG_BOUNDS = Input.Keys.F5;
+
+    private DebugKeys() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.staticvoid.obstacle.util.debug;
+
+// debug overlay layers, each switched on and off with its own key
+public enum DebugLayer {
+    // one line per world unit
+    GRID(DebugKeys.TOGGLE_DEBUG_GRID),
+    // x and y axis plus the world bounds
+    AXES(DebugKeys.TOGGLE_DEBUG_AXES),
+    // collision circles of the player and obstacles
+    BOUNDS(DebugKeys.TOGGLE_DEBUG_BOUNDS);
+
+    private final int toggleKey;
+
+    DebugLayer(int toggleKey) {
+        this.toggleKey = toggleKey;
+    }
+
+    public int getToggleKey() {
+        return toggleKey;
+    }
+}
@@ -0,0 +1,67 @@
+package com.staticvoid.obstacle.util.debug;
+
+// times frame phases into one histogram per phase
+// usage:  long start = profiler.begin();  ...  profiler.end(ProfilerPhase.SCORE, start);
+// disabled (the default) it is a single branch, no clock reads
+// toggled on the render thread, phases are timed on the render, simulation and worker threads,
+// each histogram is only written by the thread timing its phase, resets included
+public class FrameProfiler {
+
+    private static final ProfilerPhase[] PHASES = ProfilerPhase.values();
+
+    // -- attributes --
+    private final TimingHistogram[] histograms = new TimingHistogram[PHASES.length];
+    private volatile boolean enabled;
+    // bumped to reset, each histogram catches up the next time its phase is timed
+    private volatile int resetCount;
+    private final int[] histogramResets = new int[PHASES.length];
+
+    // constructor
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new TimingHistogram();
+        }
+    }
+
+    // == public methods ==
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void end(ProfilerPhase phase, long startTime) {
+        if (enabled) {
+            int index = phase.ordinal();
+            int resets = resetCount;
+            if (histogramResets[index] != resets) {
+                histogramResets[index] = resets;
+                histograms[index].reset();
+            }
+            histograms[index].record(System.nanoTime() - startTime);
+        }
+    }
+
+    public TimingHistogram getHistogram(ProfilerPhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // starts from empty histograms whenever profiling is switched on
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    public void toggle() {
+        setEnabled(!enabled);
+    }
+
+    // histograms empty on the next frame, not right away, another thread may be recording
+    public void reset() {
+        resetCount++;
+    }
+}
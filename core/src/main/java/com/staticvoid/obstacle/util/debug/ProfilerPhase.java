@@ -0,0 +1,29 @@
+package com.staticvoid.obstacle.util.debug;
+
+// timed parts of a frame, in the order they run
+public enum ProfilerPhase {
+    // GameController.update, once per simulation step
+    PLAYER("player"),
+    OBSTACLES("obstacles"),
+    SCORE("score"),
+    COLLISION("collision"),
+
+    // GameRenderer.render, once per frame
+    RENDER_GAMEPLAY("gameplay"),
+    RENDER_UI("ui"),
+    RENDER_QUEUE("queue"),
+    RENDER_DEBUG("debug"),
+
+    // GameScreen, from an input event to the end of the first frame showing it
+    INPUT_LATENCY("input");
+
+    private final String label;
+
+    ProfilerPhase(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
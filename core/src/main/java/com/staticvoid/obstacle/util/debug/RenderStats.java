@@ -0,0 +1,167 @@
+package com.staticvoid.obstacle.util.debug;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/*
+* gpu submissions per frame and per screen
+* GLProfiler counts draw calls, texture binds and shader switches for everything,
+* the shared SpriteBatch tells which of those draw calls were batch flushes,
+* the other draw calls come from meshes drawn directly (obstacles, debug grid) and the
+* ShapeRenderers, they are not told apart
+ */
+public class RenderStats {
+
+    // -- attributes --
+    private final GLProfiler glProfiler;
+    private final SpriteBatch batch;
+
+    private final ObjectMap<Class<?>, ScreenRenderStats> screenStats = new ObjectMap<Class<?>, ScreenRenderStats>();
+    private ScreenRenderStats currentScreenStats;
+
+    private boolean enabled;
+    private int batchRenderCallsAtFrameStart;
+
+    // last finished frame
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+    private int batchFlushes;
+    private int otherDrawCalls;
+    private int maxSpritesInBatch;
+    private int visibleObjects;
+    private int culledObjects;
+
+    // constructor
+    public RenderStats(Graphics graphics, SpriteBatch batch) {
+        this.glProfiler = new GLProfiler(graphics);
+        this.batch = batch;
+    }
+
+    // == public methods ==
+    // call before the screen renders
+    public void beginFrame() {
+        if (!enabled) {
+            return;
+        }
+
+        glProfiler.reset();
+        batchRenderCallsAtFrameStart = batch.totalRenderCalls;
+        batch.maxSpritesInBatch = 0;
+        visibleObjects = 0;
+        culledObjects = 0;
+    }
+
+    // call after the screen rendered, anything drawn after this (the overlay) is not counted
+    public void endFrame(Screen screen) {
+        if (!enabled) {
+            return;
+        }
+
+        drawCalls = glProfiler.getDrawCalls();
+        textureBindings = glProfiler.getTextureBindings();
+        shaderSwitches = glProfiler.getShaderSwitches();
+        batchFlushes = batch.totalRenderCalls - batchRenderCallsAtFrameStart;
+        otherDrawCalls = Math.max(0, drawCalls - batchFlushes);
+        maxSpritesInBatch = batch.maxSpritesInBatch;
+
+        if (screen != null) {
+            currentScreenStats = getScreenStats(screen.getClass());
+            currentScreenStats.add(drawCalls, textureBindings, shaderSwitches,
+                    batchFlushes, otherDrawCalls, maxSpritesInBatch);
+        }
+    }
+
+    // reported by renderers that cull, adds up over the frame
+    public void addCulling(int visible, int culled) {
+        if (!enabled) {
+            return;
+        }
+
+        visibleObjects += visible;
+        culledObjects += culled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // GLProfiler wraps every gl call while enabled, so it is only switched on on demand
+    public void setEnabled(boolean enabled) {
+        if (enabled == this.enabled) {
+            return;
+        }
+
+        if (enabled) {
+            glProfiler.enable();
+        } else {
+            glProfiler.disable();
+        }
+        this.enabled = enabled;
+    }
+
+    public void toggle() {
+        setEnabled(!enabled);
+    }
+
+    // totals for one screen class, created the first time that screen is measured
+    public ScreenRenderStats getScreenStats(Class<? extends Screen> screenType) {
+        ScreenRenderStats stats = screenStats.get(screenType);
+
+        if (stats == null) {
+            stats = new ScreenRenderStats(screenType.getSimpleName());
+            screenStats.put(screenType, stats);
+        }
+        return stats;
+    }
+
+    // screen measured in the last frame, null before the first one
+    public ScreenRenderStats getCurrentScreenStats() {
+        return currentScreenStats;
+    }
+
+    public ObjectMap.Values<ScreenRenderStats> getAllScreenStats() {
+        return screenStats.values();
+    }
+
+    public void resetScreenStats() {
+        for (ScreenRenderStats stats : screenStats.values()) {
+            stats.reset();
+        }
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+
+    public int getShaderSwitches() {
+        return shaderSwitches;
+    }
+
+    public int getBatchFlushes() {
+        return batchFlushes;
+    }
+
+    public int getOtherDrawCalls() {
+        return otherDrawCalls;
+    }
+
+    public int getMaxSpritesInBatch() {
+        return maxSpritesInBatch;
+    }
+
+    public int getVisibleObjects() {
+        return visibleObjects;
+    }
+
+    public int getCulledObjects() {
+        return culledObjects;
+    }
+}
@@ -0,0 +1,92 @@
+package com.staticvoid.obstacle.util.debug;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.staticvoid.obstacle.config.GameConfig;
+
+// draws RenderStats in the bottom left corner on top of any screen
+public class RenderStatsOverlay {
+
+    private static final float FONT_SCALE = 0.5f;
+    private static final float ROW_HEIGHT = 22f;
+    private static final float X = 20f;
+    private static final float BOTTOM_Y = 30f;
+
+    // -- attributes --
+    private final RenderStats stats;
+    private final SpriteBatch batch;
+
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private final Viewport viewport = new FitViewport(GameConfig.HUD_WIDTH, GameConfig.HUD_HEIGHT, camera);
+    private final StringBuilder text = new StringBuilder();
+
+    // constructor
+    public RenderStatsOverlay(RenderStats stats, SpriteBatch batch) {
+        this.stats = stats;
+        this.batch = batch;
+    }
+
+    // == public methods ==
+    public void render(BitmapFont font) {
+        viewport.apply();
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+
+        font.getData().setScale(FONT_SCALE);
+        float y = BOTTOM_Y + 4 * ROW_HEIGHT;
+
+        text.setLength(0);
+        text.append("draw calls ").append(stats.getDrawCalls())
+                .append("  batch ").append(stats.getBatchFlushes())
+                .append("  other ").append(stats.getOtherDrawCalls());
+        font.draw(batch, text, X, y);
+        y -= ROW_HEIGHT;
+
+        text.setLength(0);
+        text.append("textures ").append(stats.getTextureBindings())
+                .append("  shaders ").append(stats.getShaderSwitches())
+                .append("  max sprites ").append(stats.getMaxSpritesInBatch());
+        font.draw(batch, text, X, y);
+        y -= ROW_HEIGHT;
+
+        text.setLength(0);
+        text.append("visible ").append(stats.getVisibleObjects())
+                .append("  culled ").append(stats.getCulledObjects());
+        font.draw(batch, text, X, y);
+        y -= ROW_HEIGHT;
+
+        ScreenRenderStats screenStats = stats.getCurrentScreenStats();
+        if (screenStats != null) {
+            text.setLength(0);
+            text.append(screenStats.getScreenName())
+                    .append("  frames ").append(screenStats.getFrames());
+            font.draw(batch, text, X, y);
+            y -= ROW_HEIGHT;
+
+            text.setLength(0);
+            text.append("avg draw calls ");
+            appendTenths(screenStats.getAverageDrawCalls());
+            text.append("  max ").append(screenStats.getMaxDrawCalls());
+            font.draw(batch, text, X, y);
+        }
+
+        font.getData().setScale(1f);
+
+        batch.end();
+    }
+
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    // == private methods ==
+    // one decimal without StringBuilder.append(float), which goes through a String
+    private void appendTenths(float value) {
+        int tenths = Math.round(value * 10f);
+        text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,102 @@
+package com.staticvoid.obstacle.util.debug;
+
+// running render totals for one screen, see RenderStats
+public class ScreenRenderStats {
+
+    // -- attributes --
+    private final String screenName;
+
+    private long frames;
+    private long drawCalls;
+    private long textureBindings;
+    private long shaderSwitches;
+    private long batchFlushes;
+    private long otherDrawCalls;
+    private int maxDrawCalls;
+    private int maxSpritesInBatch;
+
+    // constructor
+    public ScreenRenderStats(String screenName) {
+        this.screenName = screenName;
+    }
+
+    // == public methods ==
+    public void add(int drawCalls, int textureBindings, int shaderSwitches,
+                    int batchFlushes, int otherDrawCalls, int maxSpritesInBatch) {
+        frames++;
+        this.drawCalls += drawCalls;
+        this.textureBindings += textureBindings;
+        this.shaderSwitches += shaderSwitches;
+        this.batchFlushes += batchFlushes;
+        this.otherDrawCalls += otherDrawCalls;
+        this.maxDrawCalls = Math.max(this.maxDrawCalls, drawCalls);
+        this.maxSpritesInBatch = Math.max(this.maxSpritesInBatch, maxSpritesInBatch);
+    }
+
+    public void reset() {
+        frames = 0;
+        drawCalls = 0;
+        textureBindings = 0;
+        shaderSwitches = 0;
+        batchFlushes = 0;
+        otherDrawCalls = 0;
+        maxDrawCalls = 0;
+        maxSpritesInBatch = 0;
+    }
+
+    public String getScreenName() {
+        return screenName;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public float getAverageDrawCalls() {
+        return average(drawCalls);
+    }
+
+    public float getAverageTextureBindings() {
+        return average(textureBindings);
+    }
+
+    public float getAverageShaderSwitches() {
+        return average(shaderSwitches);
+    }
+
+    public float getAverageBatchFlushes() {
+        return average(batchFlushes);
+    }
+
+    public float getAverageOtherDrawCalls() {
+        return average(otherDrawCalls);
+    }
+
+    public int getMaxDrawCalls() {
+        return maxDrawCalls;
+    }
+
+    public int getMaxSpritesInBatch() {
+        return maxSpritesInBatch;
+    }
+
+    @Override
+    public String toString() {
+        return "ScreenRenderStats{" +
+                "screenName='" + screenName + '\'' +
+                ", frames=" + frames +
+                ", averageDrawCalls=" + getAverageDrawCalls() +
+                ", averageTextureBindings=" + getAverageTextureBindings() +
+                ", averageShaderSwitches=" + getAverageShaderSwitches() +
+                ", averageBatchFlushes=" + getAverageBatchFlushes() +
+                ", averageOtherDrawCalls=" + getAverageOtherDrawCalls() +
+                ", maxDrawCalls=" + maxDrawCalls +
+                ", maxSpritesInBatch=" + maxSpritesInBatch +
+                '}';
+    }
+
+    // == private methods ==
+    private float average(long total) {
+        return frames == 0 ? 0f : (float) total / frames;
+    }
+}
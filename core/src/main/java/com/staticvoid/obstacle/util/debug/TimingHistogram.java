@@ -0,0 +1,95 @@
+package com.staticvoid.obstacle.util.debug;
+
+// fixed size log-linear histogram of durations in nanoseconds, recording never allocates
+// every power of two range is split into 16 buckets, so percentiles are within ~6%
+public class TimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // covers up to 2^40 ns (~18 minutes), anything longer lands in the last bucket
+    private static final int MAX_SHIFT = 40 - SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (MAX_SHIFT + 2) * SUB_BUCKET_COUNT;
+
+    // -- attributes --
+    private final int[] counts = new int[BUCKET_COUNT];
+    private long totalCount;
+    private long max;
+
+    // == public methods ==
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        counts[bucketOf(nanos)]++;
+        totalCount++;
+
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    // upper bound of the bucket holding the given percentile (0 - 100), 0 when empty
+    public long getPercentile(float percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(totalCount * (percentile / 100f));
+        if (rank < 1) {
+            rank = 1;
+        }
+
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        max = 0;
+    }
+
+    // == private methods ==
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return (int) nanos;
+        }
+
+        int highestBit = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = Math.min(highestBit - SUB_BUCKET_BITS, MAX_SHIFT);
+        int subBucket = (int) (nanos >>> shift) & (SUB_BUCKET_COUNT - 1);
+
+        if (highestBit - SUB_BUCKET_BITS > MAX_SHIFT) {
+            return BUCKET_COUNT - 1;
+        }
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        int subBucket = bucket % SUB_BUCKET_COUNT;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
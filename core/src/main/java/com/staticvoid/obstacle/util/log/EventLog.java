@@ -0,0 +1,242 @@
+package com.staticvoid.obstacle.util.log;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+* structured log for code that runs every step or frame, instead of Logger and println
+* a record is an event id, the simulation tick and up to two int and two float arguments,
+* written into preallocated arrays, nothing is formatted, allocated or written to a stream
+* on the logging thread, a background thread flushes the records to rotating binary files
+* (see EventLogFile), EventLogReader turns them back into text
+* any thread may log, a full ring drops records and counts them instead of waiting
+* off (LogLevel.NONE) until started, a disabled level costs one field read
+* the game owns one and hands it to its sessions through GameContext, nothing is global
+* usage:  context.getEventLog().log(LogEvent.COLLISION, tick, lives, score);
+ */
+public class EventLog {
+
+    private static final Logger log = new Logger(EventLog.class.getName(), Logger.DEBUG);
+
+    // logs nothing, e.g. for headless runs, never started
+    public static final EventLog OFF = new EventLog(1);
+
+    // a file stays well below a second of writing, 4 of them hold a few minutes of play
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+    private static final int FILE_COUNT = 4;
+    private static final long FLUSH_INTERVAL_NANOS = 100_000_000L;
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
+    private static final int RECORDS_PER_WRITE = 256;
+
+    // -- attributes --
+    private final int capacity;
+    private final int mask;
+    private final int[] events;
+    private final int[] ticks;
+    private final long[] times;
+    private final int[] intArgs0;
+    private final int[] intArgs1;
+    private final float[] floatArgs0;
+    private final float[] floatArgs1;
+
+    // slot i holds the sequence of the record last published into it, -1 before the first
+    private final AtomicLongArray published;
+    // next sequence a logging thread claims, the flusher reads up to where it is published
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private volatile long flushed;
+    private volatile int minLevel = LogLevel.NONE.ordinal();
+
+    // flusher thread only
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORDS_PER_WRITE * EventLogFile.RECORD_SIZE);
+    private EventLogFile file;
+    private Thread flusher;
+    private volatile boolean running;
+
+    // constructor
+    // capacity -- records the ring holds before it drops, rounded up to a power of two
+    public EventLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.capacity = size;
+        mask = size - 1;
+        events = new int[size];
+        ticks = new int[size];
+        times = new long[size];
+        intArgs0 = new int[size];
+        intArgs1 = new int[size];
+        floatArgs0 = new float[size];
+        floatArgs1 = new float[size];
+
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1L);
+        }
+    }
+
+    // == public methods ==
+    // opens a new events.bin in directory and starts the flusher thread
+    public synchronized void start(File directory, LogLevel level) {
+        if (flusher != null) {
+            throw new IllegalStateException("Event log already started");
+        }
+
+        try {
+            file = new EventLogFile(directory, MAX_FILE_BYTES, FILE_COUNT);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open event log in " + directory, e);
+        }
+
+        running = true;
+        flusher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                flushUntilStopped();
+            }
+        }, "event-log");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        setLevel(level);
+    }
+
+    // writes what was logged so far and closes the file, later records are ignored
+    public synchronized void stop() {
+        setLevel(LogLevel.NONE);
+        if (flusher == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+    }
+
+    public void setLevel(LogLevel level) {
+        if (level == null) {
+            throw new IllegalArgumentException("Level param required");
+        }
+        minLevel = level.ordinal();
+    }
+
+    // check before gathering arguments that cost something to compute
+    public boolean isEnabled(LogEvent event) {
+        return event.getLevel().ordinal() >= minLevel;
+    }
+
+    public void log(LogEvent event, int tick) {
+        log(event, tick, 0, 0, 0f, 0f);
+    }
+
+    public void log(LogEvent event, int tick, int intArg0) {
+        log(event, tick, intArg0, 0, 0f, 0f);
+    }
+
+    public void log(LogEvent event, int tick, int intArg0, int intArg1) {
+        log(event, tick, intArg0, intArg1, 0f, 0f);
+    }
+
+    public void log(LogEvent event, int tick, int intArg0, int intArg1, float floatArg0, float floatArg1) {
+        if (event.getLevel().ordinal() < minLevel) {
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - flushed >= capacity) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        events[index] = event.ordinal();
+        ticks[index] = tick;
+        times[index] = System.nanoTime();
+        intArgs0[index] = intArg0;
+        intArgs1[index] = intArg1;
+        floatArgs0[index] = floatArg0;
+        floatArgs1[index] = floatArg1;
+        // the flusher reads the slot once it sees its sequence
+        published.lazySet(index, sequence);
+    }
+
+    // == private methods ==
+    private void flushUntilStopped() {
+        try {
+            while (running) {
+                flush();
+                LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            }
+            flush();
+        } catch (IOException e) {
+            // nothing left to write to, keep the game running without the log
+            setLevel(LogLevel.NONE);
+            log.error("Event log stopped, write failed", e);
+        } finally {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.error("Event log close failed", e);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        int lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            put(LogEvent.RECORDS_DROPPED.ordinal(), 0, System.nanoTime(), lost, 0, 0f, 0f);
+        }
+
+        long sequence = flushed;
+        while (published.get((int) sequence & mask) == sequence) {
+            int index = (int) sequence & mask;
+            put(events[index], ticks[index], times[index],
+                    intArgs0[index], intArgs1[index], floatArgs0[index], floatArgs1[index]);
+            sequence++;
+
+            if (!buffer.hasRemaining()) {
+                // copied out, logging threads may reuse the slots
+                flushed = sequence;
+                write();
+            }
+        }
+
+        flushed = sequence;
+        write();
+    }
+
+    private void put(int event, int tick, long time, int intArg0, int intArg1, float floatArg0, float floatArg1) {
+        buffer.putInt(event).putInt(tick).putLong(time)
+                .putInt(intArg0).putInt(intArg1).putFloat(floatArg0).putFloat(floatArg1);
+    }
+
+    private void write() throws IOException {
+        buffer.flip();
+        if (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.staticvoid.obstacle.util.log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+* rotating binary log files in one directory, only used by the EventLog flusher thread
+* events.bin is written, a full file moves to events.1.bin, that one to events.2.bin ...
+* and the oldest is deleted, every run starts a new events.bin
+* file:    header (magic, version, System.currentTimeMillis(), System.nanoTime() when opened)
+*          then records of RECORD_SIZE bytes, big endian
+* record:  event ordinal, tick, nano time, two int and two float arguments
+* java.io only, java.nio.file needs Android API 26
+ */
+class EventLogFile {
+
+    static final int MAGIC = 0x4F41454C; // "OAEL"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 32;
+
+    private static final String BASE_NAME = "events";
+    private static final String EXTENSION = ".bin";
+
+    // -- attributes --
+    private final File directory;
+    private final long maxBytes;
+    private final int fileCount;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+    private FileOutputStream out;
+    private FileChannel channel;
+    private long size;
+
+    // constructor
+    EventLogFile(File directory, long maxBytes, int fileCount) throws IOException {
+        if (maxBytes < HEADER_SIZE + RECORD_SIZE) {
+            throw new IllegalArgumentException("maxBytes must fit the header and a record");
+        }
+
+        if (fileCount < 1) {
+            throw new IllegalArgumentException("fileCount must be at least 1");
+        }
+
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.fileCount = fileCount;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        rotate();
+    }
+
+    // == package methods ==
+    // index 0 is the file being written, higher is older
+    static File getFile(File directory, int index) {
+        String name = index == 0 ? BASE_NAME + EXTENSION : BASE_NAME + "." + index + EXTENSION;
+        return new File(directory, name);
+    }
+
+    // whole records only, moves on to a new file first when they don't fit
+    void write(ByteBuffer records) throws IOException {
+        if (size + records.remaining() > maxBytes) {
+            rotate();
+        }
+
+        while (records.hasRemaining()) {
+            size += channel.write(records);
+        }
+    }
+
+    void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    // == private methods ==
+    private void rotate() throws IOException {
+        close();
+
+        for (int index = fileCount - 1; index > 0; index--) {
+            File older = getFile(directory, index - 1);
+            File newer = getFile(directory, index);
+            if (!older.exists()) {
+                continue;
+            }
+
+            // renameTo doesn't replace on every platform
+            if (newer.exists() && !newer.delete()) {
+                throw new IOException("Could not delete " + newer);
+            }
+
+            if (!older.renameTo(newer)) {
+                throw new IOException("Could not rename " + older + " to " + newer);
+            }
+        }
+
+        out = new FileOutputStream(getFile(directory, 0));
+        channel = out.getChannel();
+
+        header.clear();
+        header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putLong(System.nanoTime());
+        header.flip();
+        size = 0;
+        while (header.hasRemaining()) {
+            size += channel.write(header);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.staticvoid.obstacle.util.log;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+// turns the binary files an EventLog wrote back into text, oldest record first
+// one line per record:  time  level  tick  message
+// tooling only, allocates freely
+public class EventLogReader {
+
+    private static final LogEvent[] EVENTS = LogEvent.values();
+    private static final int MAX_FILES = 100;
+
+    // -- attributes --
+    private final File directory;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS", Locale.ROOT);
+
+    // constructor
+    public EventLogReader(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory param required");
+        }
+        this.directory = directory;
+    }
+
+    // == public methods ==
+    // returns the number of records printed
+    public int print(PrintStream out) {
+        int oldest = 0;
+        while (oldest + 1 < MAX_FILES && EventLogFile.getFile(directory, oldest + 1).exists()) {
+            oldest++;
+        }
+
+        int records = 0;
+        for (int index = oldest; index >= 0; index--) {
+            File file = EventLogFile.getFile(directory, index);
+            if (file.exists()) {
+                records += print(file, out);
+            }
+        }
+        return records;
+    }
+
+    // == private methods ==
+    private int print(File file, PrintStream out) {
+        ByteBuffer data;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) in.length()];
+            in.readFully(bytes);
+            data = ByteBuffer.wrap(bytes);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + file, e);
+        }
+
+        if (data.remaining() < EventLogFile.HEADER_SIZE || data.getInt() != EventLogFile.MAGIC) {
+            throw new GdxRuntimeException(file + " is not an event log");
+        }
+
+        int version = data.getInt();
+        if (version != EventLogFile.VERSION) {
+            throw new GdxRuntimeException(file + " has unknown version " + version);
+        }
+
+        // record times are System.nanoTime(), the header ties that clock to the wall clock
+        long openedMillis = data.getLong();
+        long openedNanos = data.getLong();
+
+        int records = 0;
+        // a record cut short by a crash is skipped
+        while (data.remaining() >= EventLogFile.RECORD_SIZE) {
+            int id = data.getInt();
+            int tick = data.getInt();
+            long time = data.getLong();
+            int intArg0 = data.getInt();
+            int intArg1 = data.getInt();
+            float floatArg0 = data.getFloat();
+            float floatArg1 = data.getFloat();
+
+            String when = timeFormat.format(new Date(openedMillis + (time - openedNanos) / 1_000_000L));
+            if (id < 0 || id >= EVENTS.length) {
+                out.printf("%s  ?      tick %d  unknown event %d%n", when, tick, id);
+            } else {
+                LogEvent event = EVENTS[id];
+                out.printf("%s  %-5s  tick %d  %s%n", when, event.getLevel(), tick,
+                        event.format(intArg0, intArg1, floatArg0, floatArg1));
+            }
+            records++;
+        }
+        return records;
+    }
+}
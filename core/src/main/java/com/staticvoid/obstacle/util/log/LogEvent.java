@@ -0,0 +1,35 @@
+package com.staticvoid.obstacle.util.log;
+
+import java.util.Locale;
+
+// everything the EventLog can record, a record stores the ordinal and the raw arguments
+// messages are only formatted when a log file is read back, see EventLogReader
+// append new events at the end, the ordinal is the id in existing log files
+public enum LogEvent {
+    // lives left, score
+    COLLISION(LogLevel.DEBUG, "collision, %1$d lives left, score %2$d"),
+    // score, obstacles spawned
+    GAME_OVER(LogLevel.INFO, "game over, score %1$d, %2$d obstacles spawned"),
+    // 1 when stopped by game over, 0 when stopped by the screen
+    SIMULATION_STOPPED(LogLevel.DEBUG, "simulation stopped, game over %1$d"),
+    SIMULATION_FAILED(LogLevel.ERROR, "simulation thread failed"),
+    // records lost because the ring was full, written by the flusher
+    RECORDS_DROPPED(LogLevel.INFO, "%1$d log records dropped");
+
+    private final LogLevel level;
+    private final String format;
+
+    LogEvent(LogLevel level, String format) {
+        this.level = level;
+        this.format = format;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    // unused arguments are ignored by the format
+    public String format(int intArg0, int intArg1, float floatArg0, float floatArg1) {
+        return String.format(Locale.ROOT, format, intArg0, intArg1, floatArg0, floatArg1);
+    }
+}
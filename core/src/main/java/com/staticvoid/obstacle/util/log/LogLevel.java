@@ -0,0 +1,10 @@
+package com.staticvoid.obstacle.util.log;
+
+// least to most severe, an EventLog set to a level keeps that level and everything above
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    ERROR,
+    // nothing is recorded
+    NONE
+}
@@ -0,0 +1,173 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.FixedTimestep;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.replay.ReplayWriter;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.screen.game.WorldSnapshot;
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.log.EventLog;
+import com.staticvoid.obstacle.util.log.LogLevel;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocation regression gate for the gameplay frame. Plays thousands of frames the way
+ * GameSimulation does (frame delta into FixedTimestep, fixed steps into GameController, a
+ * WorldSnapshot captured after them) and measures the thread's allocated bytes, with the
+ * frame profiler, the event log and a replay recording switched on so their recording paths
+ * are covered as well (the event log writes on its own thread, which is not measured). Any allocation in
+ * steady state fails the run with exit status 1. Starting a new game after game over is not measured.
+ * Usage: {@code ./gradlew headless:allocationGate}, also part of {@code check}.
+ */
+public class AllocationGate extends ApplicationAdapter {
+
+    private static final int WARMUP_FRAMES = 50_000;
+    private static final int MEASURED_FRAMES = 20_000;
+
+    // mix of refresh rates, 144Hz down to a 20fps hitch
+    private static final float[] FRAME_DELTAS = {1f / 144f, 1f / 60f, 1f / 30f, 1f / 60f, 1f / 20f};
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // == attributes
+    private int failures;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private final EventLog eventLog = new EventLog(8192);
+    private File replayFile;
+    private ReplayWriter replay;
+
+
+    public static void main(String[] args) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.preferencesDirectory = ".prefs-headless/";
+        new HeadlessApplication(new AllocationGate(), config);
+    }
+
+    @Override
+    public void create() {
+        profiler.setEnabled(true);
+        eventLog.start(Gdx.files.external(".event-log-headless/").file(), LogLevel.DEBUG);
+        // every game overwrites the one before
+        replayFile = Gdx.files.external(".replay-headless/allocation-gate.bin").file();
+
+        // first pass only warms up, including the measuring code itself: the JIT compiling
+        // the measuring loop can show up as a one off allocation that isn't the game's
+        for (int pass = 0; pass < 2; pass++) {
+            boolean report = pass == 1;
+
+            for (BroadphaseType broadphaseType : BroadphaseType.values()) {
+                for (DifficultyLevel difficultyLevel : DifficultyLevel.values()) {
+                    check(broadphaseType, difficultyLevel, report);
+                }
+            }
+        }
+
+        eventLog.stop();
+        replay.close();
+        System.out.println(failures == 0 ? "allocation gate: OK" : "allocation gate: FAILED");
+        // status code matters for the build, exit right here
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // == private methods
+    private void check(BroadphaseType broadphaseType, DifficultyLevel difficultyLevel, boolean report) {
+        // every combination plays the same games, one after the other
+        InputSource input = new WeavingInput();
+        FixedTimestep timestep = new FixedTimestep(GameConfig.SIM_TICKS_PER_SECOND, GameConfig.MAX_SIM_STEPS_PER_FRAME);
+
+        long gamesStarted = 0;
+        GameController controller = newController(input, difficultyLevel, gamesStarted, broadphaseType);
+
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            runSteps(controller, timestep, frame);
+            if (controller.isGameOver()) {
+                controller = newController(input, difficultyLevel, ++gamesStarted, broadphaseType);
+            }
+        }
+
+        long allocated = 0;
+        long warmupGames = gamesStarted;
+
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            long before = allocatedBytes();
+            runSteps(controller, timestep, frame);
+            allocated += allocatedBytes() - before;
+
+            if (controller.isGameOver()) {
+                controller = newController(input, difficultyLevel, ++gamesStarted, broadphaseType);
+            }
+        }
+
+        if (!report) {
+            return;
+        }
+
+        System.out.printf("%-16s %-7s %d frames, %d new games, %d bytes allocated%n",
+                broadphaseType, difficultyLevel, MEASURED_FRAMES, gamesStarted - warmupGames, allocated);
+
+        if (allocated > 0) {
+            failures++;
+        }
+    }
+
+    // same as a GameSimulation loop
+    private void runSteps(GameController controller, FixedTimestep timestep, int frame) {
+        int steps = timestep.advance(FRAME_DELTAS[frame % FRAME_DELTAS.length]);
+        for (int i = 0; i < steps; i++) {
+            controller.update(timestep.getStepTime());
+        }
+
+        if (steps > 0) {
+            snapshot.capture(controller, timestep.getAlpha(), timestep.getStepTime(), 0L);
+        }
+    }
+
+    // a new context per game, a reused one would carry its random streams over
+    private GameController newController(InputSource input, DifficultyLevel difficultyLevel, long game,
+                                         BroadphaseType broadphaseType) {
+        GameContext context = new GameContext(difficultyLevel, 42L + game,
+                input, SoundSink.SILENT, ScorePersistence.DISCARD, eventLog);
+        EntityFactory factory = new EntityFactory(context, null, null);
+        GameController controller = new GameController(context, factory);
+        controller.setBroadphaseType(broadphaseType);
+        controller.setProfiler(profiler);
+
+        if (replay != null) {
+            replay.close();
+        }
+        replay = new ReplayWriter(replayFile, context, GameConfig.SIM_TICKS_PER_SECOND,
+                ReplayWriter.DEFAULT_CHECKSUM_INTERVAL);
+        controller.setReplayWriter(replay);
+        return controller;
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // steers left and right in turns so the player movement path runs too
+    private static final class WeavingInput implements InputSource {
+        private int steps;
+
+        @Override
+        public int getMoveDirection() {
+            steps++;
+            return (steps / 90) % 2 == 0 ? MOVE_LEFT : MOVE_RIGHT;
+        }
+    }
+}
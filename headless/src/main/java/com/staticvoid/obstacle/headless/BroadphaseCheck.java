@@ -0,0 +1,116 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.collision.Broadphase;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+
+/**
+ * Runs randomized obstacle fields through every {@link BroadphaseType} and compares each
+ * collision and rectangle (culling) query with the brute force result. Exits with status 1
+ * on any mismatch.
+ * Usage: {@code ./gradlew headless:checkBroadphase}, also part of {@code check}.
+ */
+public class BroadphaseCheck {
+
+    private static final int[] OBSTACLE_COUNTS = {0, 1, 10, 100, 1_000, 10_000};
+    private static final int TICKS = 200;
+    private static final int QUERIES_PER_TICK = 50;
+    private static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 42L;
+
+        int mismatches = 0;
+        long queries = 0;
+
+        IntArray expectedInRect = new IntArray();
+        IntArray actualInRect = new IntArray();
+
+        for (int count : OBSTACLE_COUNTS) {
+            RandomXS128 random = new RandomXS128(seed + count);
+            ObstacleStore obstacles = new ObstacleStore(GameConfig.OBSTACLE_CAPACITY);
+            for (int i = 0; i < count; i++) {
+                addRandom(obstacles, random);
+            }
+
+            BroadphaseType[] types = BroadphaseType.values();
+            Broadphase[] broadphases = new Broadphase[types.length];
+            for (int t = 0; t < types.length; t++) {
+                broadphases[t] = types[t].create();
+            }
+
+            for (int tick = 0; tick < TICKS; tick++) {
+                obstacles.update(STEP_TIME);
+
+                // same churn as the game, obstacles come in at the top and leave at the bottom
+                if (random.nextInt(10) == 0) {
+                    obstacles.removeBelow(-GameConfig.OBSTACLE_SIZE);
+                }
+                if (count > 0 && random.nextInt(5) == 0) {
+                    addRandom(obstacles, random);
+                }
+                if (obstacles.size() > 0 && random.nextInt(3) == 0) {
+                    obstacles.setHit(random.nextInt(obstacles.size()));
+                }
+
+                for (Broadphase broadphase : broadphases) {
+                    broadphase.update(obstacles);
+                }
+
+                for (int q = 0; q < QUERIES_PER_TICK; q++) {
+                    float x = -1f + random.nextFloat() * (GameConfig.WORLD_WIDTH + 2f);
+                    float y = -2f + random.nextFloat() * (GameConfig.WORLD_HEIGHT + 4f);
+                    float radius = 0.1f + random.nextFloat();
+
+                    int expected = obstacles.findFirstCollision(x, y, radius);
+                    for (int t = 0; t < types.length; t++) {
+                        int actual = broadphases[t].findFirstCollision(obstacles, x, y, radius);
+                        if (actual != expected) {
+                            mismatches++;
+                            System.out.printf("MISMATCH %s count=%d tick=%d expected=%d actual=%d%n",
+                                    types[t], count, tick, expected, actual);
+                        }
+                    }
+
+                    // camera sized rectangle, zoomed anywhere between 0.25 and 3
+                    float zoom = 0.25f + random.nextFloat() * 2.75f;
+                    float halfWidth = GameConfig.WORLD_WIDTH * zoom / 2f;
+                    float halfHeight = GameConfig.WORLD_HEIGHT * zoom / 2f;
+
+                    obstacles.findInRect(x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight,
+                            expectedInRect);
+                    for (int t = 0; t < types.length; t++) {
+                        broadphases[t].findInRect(obstacles,
+                                x - halfWidth, y - halfHeight, x + halfWidth, y + halfHeight, actualInRect);
+                        if (!actualInRect.equals(expectedInRect)) {
+                            mismatches++;
+                            System.out.printf("MISMATCH %s rect count=%d tick=%d expected=%d actual=%d%n",
+                                    types[t], count, tick, expectedInRect.size, actualInRect.size);
+                        }
+                    }
+                    queries++;
+                }
+            }
+        }
+
+        System.out.printf("broadphase check: %d queries per type, %d mismatches%n", queries, mismatches);
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    // wider ranges and radii than the game uses, to hit the grid borders and odd sizes
+    private static void addRandom(ObstacleStore obstacles, RandomXS128 random) {
+        float x = -1f + random.nextFloat() * (GameConfig.WORLD_WIDTH + 2f);
+        float y = -2f + random.nextFloat() * (GameConfig.WORLD_HEIGHT + 4f);
+        float ySpeed = random.nextFloat() * GameConfig.HARD_OBSTACLE_SPEED;
+        float radius = 0.05f + random.nextFloat() * 0.6f;
+        obstacles.add(x, y, ySpeed, radius);
+    }
+
+    private BroadphaseCheck() {
+    }
+}
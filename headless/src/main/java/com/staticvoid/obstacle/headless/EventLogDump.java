@@ -0,0 +1,30 @@
+package com.staticvoid.obstacle.headless;
+
+import com.staticvoid.obstacle.util.log.EventLogReader;
+
+import java.io.File;
+
+/**
+ * Prints the binary files an {@link com.staticvoid.obstacle.util.log.EventLog} wrote as
+ * text, oldest record first. The game writes them to {@code logs/} in its working
+ * directory, the default directory is where {@code lwjgl2:run} puts them.
+ * Usage: {@code ./gradlew headless:dumpEventLog --args="<log directory>"}
+ */
+public class EventLogDump {
+
+    private static final String DEFAULT_DIRECTORY = "../lwjgl2/logs";
+
+    public static void main(String[] args) {
+        File directory = new File(args.length > 0 ? args[0] : DEFAULT_DIRECTORY);
+        if (!directory.isDirectory()) {
+            System.err.println("no event log directory " + directory.getAbsolutePath());
+            System.exit(1);
+        }
+
+        int records = new EventLogReader(directory).print(System.out);
+        System.out.printf("%d records%n", records);
+    }
+
+    private EventLogDump() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+
+import java.io.File;
+
+/**
+ * Runs the game simulation without a window, GL context or audio device.
+ * Usage: {@code ./gradlew headless:run --args="<simulated seconds> [sessions] [seed] [broadphase] [leaderboard directory]"}
+ */
+public class HeadlessLauncher {
+
+    private static final long DEFAULT_SIMULATED_SECONDS = 60 * 60; // one hour of gameplay per session
+    private static final int DEFAULT_SESSIONS = 1;
+
+    public static void main(String[] args) {
+        long simulatedSeconds = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_SIMULATED_SECONDS;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SESSIONS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        BroadphaseType broadphaseType = args.length > 3
+                ? BroadphaseType.valueOf(args[3]) : BroadphaseType.SORTED_INTERVAL;
+        // play farms record every game, by default nothing is kept
+        File leaderboardDirectory = args.length > 4 ? new File(args[4]) : null;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // sessions only write scores to the given directory, keep anything else away from the player's real preferences
+        config.preferencesDirectory = ".prefs-headless/";
+
+        new HeadlessApplication(new SimulationRunner(simulatedSeconds, sessions, seed, broadphaseType,
+                leaderboardDirectory), config);
+    }
+}
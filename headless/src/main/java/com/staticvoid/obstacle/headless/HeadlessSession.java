@@ -0,0 +1,94 @@
+package com.staticvoid.obstacle.headless;
+
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.GameRandom;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+// one independent game session, owns its own contexts, so sessions can run on separate threads
+// every game gets a new context with its own seed, the one recorded with its score
+public class HeadlessSession implements Runnable {
+
+    // == attributes
+    private final long totalTicks;
+    private final BroadphaseType broadphaseType;
+    private final DifficultyLevel difficultyLevel;
+    private final ScorePersistence scores;
+    // one seed per game, drawn in order
+    private final GameRandom gameSeeds;
+
+    private int gamesPlayed;
+    private long obstaclesSpawned;
+    private long collisions;
+
+    // constructor
+    // scores -- gets every finished game, may be shared with other sessions
+    public HeadlessSession(DifficultyLevel difficultyLevel, BroadphaseType broadphaseType,
+                           long seed, long totalTicks, ScorePersistence scores) {
+        this.totalTicks = totalTicks;
+        this.broadphaseType = broadphaseType;
+        this.difficultyLevel = difficultyLevel;
+        this.scores = scores;
+        gameSeeds = new GameRandom(seed);
+    }
+
+    // == public methods
+    @Override
+    public void run() {
+        float stepTime = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+        GameController controller = newController();
+
+        for (long tick = 0; tick < totalTicks; tick++) {
+            controller.update(stepTime);
+
+            if (controller.isGameOver()) {
+                addTotals(controller);
+                controller = newController();
+            }
+        }
+
+        addTotals(controller);
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public long getObstaclesSpawned() {
+        return obstaclesSpawned;
+    }
+
+    public long getCollisions() {
+        return collisions;
+    }
+
+    // == private methods
+    // a context carried over from the game before would continue its random streams,
+    // the game could not be played again from its recorded seed
+    private GameController newController() {
+        GameContext context = new GameContext(difficultyLevel, gameSeeds.nextLong(),
+                InputSource.IDLE, SoundSink.SILENT, scores, EventLog.OFF);
+        // no regions, nothing is ever drawn
+        GameController controller = new GameController(context, new EntityFactory(context, null, null));
+        controller.setBroadphaseType(broadphaseType);
+        return controller;
+    }
+
+    private void addTotals(GameController controller) {
+        gamesPlayed++;
+        obstaclesSpawned += controller.getObstaclesSpawned();
+        collisions += controller.getCollisions();
+    }
+}
@@ -0,0 +1,195 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.EventInputSource;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputEventQueue;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.PlayerSprite;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.screen.game.WorldSnapshot;
+import com.staticvoid.obstacle.util.debug.TimingHistogram;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+/**
+ * Input to photon latency of the steering input, event queue against the per frame key
+ * polling it replaced. Plays scripted key presses (5ms taps up to 150ms holds) on a virtual
+ * clock: display frames deliver input the way the backend does (events gathered since the
+ * last frame) and draw the newest {@link WorldSnapshot}, simulation steps run at their own
+ * times as GameSimulation does, with the real {@link GameController}. A press is shown once a
+ * frame draws the player moved, the frame is on screen one refresh later.
+ * Covers 60Hz and 144Hz displays and several simulation phases. Exits with status 1 when
+ * the event queue drops a press or is slower than polling.
+ * Usage: {@code ./gradlew headless:checkInputLatency}, also part of {@code check}.
+ */
+public class InputLatencyCheck extends ApplicationAdapter {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long STEP_NANOS = 1_000_000_000L / GameConfig.SIM_TICKS_PER_SECOND;
+
+    private static final long[] FRAME_NANOS = {1_000_000_000L / 60, 1_000_000_000L / 144};
+    private static final float[] STEP_PHASES = {0f, 0.25f, 0.5f, 0.75f};
+    private static final long[] PRESS_NANOS = {
+            5 * NANOS_PER_MILLI, 12 * NANOS_PER_MILLI, 50 * NANOS_PER_MILLI, 150 * NANOS_PER_MILLI};
+
+    private static final int TRIALS = 500;
+    // a press starts somewhere in the first 100ms of a trial, the player is reset before it
+    private static final long TRIAL_NANOS = 400 * NANOS_PER_MILLI;
+    private static final long PRESS_START_NANOS = 50 * NANOS_PER_MILLI;
+    private static final long PRESS_WINDOW_NANOS = 100 * NANOS_PER_MILLI;
+
+    // == attributes
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private int failures;
+
+    public static void main(String[] args) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.preferencesDirectory = ".prefs-headless/";
+        new HeadlessApplication(new InputLatencyCheck(), config);
+    }
+
+    @Override
+    public void create() {
+        System.out.printf("%-7s %-7s %7s %7s %7s %7s %7s%n",
+                "display", "input", "presses", "dropped", "p50 ms", "p99 ms", "max ms");
+
+        for (long frameNanos : FRAME_NANOS) {
+            Result polled = new Result();
+            Result events = new Result();
+
+            for (float phase : STEP_PHASES) {
+                long stepOffset = (long) (phase * STEP_NANOS);
+                play(frameNanos, stepOffset, false, polled);
+                play(frameNanos, stepOffset, true, events);
+            }
+
+            String display = (1_000_000_000L / frameNanos) + "Hz";
+            polled.print(display, "polled");
+            events.print(display, "events");
+
+            if (events.dropped > 0 || events.latency.getPercentile(99) > polled.latency.getPercentile(99)) {
+                failures++;
+            }
+        }
+
+        System.out.println(failures == 0 ? "input latency check: OK" : "input latency check: FAILED");
+        // status code matters for the build, exit right here
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // == private methods
+    private void play(long frameNanos, long stepOffset, boolean useEvents, Result result) {
+        RandomXS128 random = new RandomXS128(42L);
+        InputEventQueue queue = new InputEventQueue(64);
+        PolledInput polled = new PolledInput();
+        InputSource input = useEvents ? new EventInputSource(queue) : polled;
+
+        GameContext context = new GameContext(DifficultyLevel.EASY, 42L,
+                input, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        EntityFactory factory = new EntityFactory(context, null, null);
+        GameController controller = new GameController(context, factory);
+
+        long frameTime = frameNanos;
+        long stepTime = STEP_NANOS + stepOffset;
+        long lastFrameTime = 0L;
+        snapshot.capture(controller, 0f, STEP_NANOS / 1e9f, 0L);
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            long trialStart = (long) trial * TRIAL_NANOS;
+            long trialEnd = trialStart + TRIAL_NANOS;
+            long pressTime = trialStart + PRESS_START_NANOS + (long) (random.nextFloat() * PRESS_WINDOW_NANOS);
+            long releaseTime = pressTime + PRESS_NANOS[trial % PRESS_NANOS.length];
+
+            // back to the start position, away from the walls
+            PlayerSprite player = controller.getPlayer();
+            float startX = (GameConfig.WORLD_WIDTH - player.getWidth()) / 2f;
+            player.setX(startX);
+            player.savePreviousPosition();
+            int collisions = controller.getCollisions();
+
+            long shownTime = -1L;
+            boolean hit = false;
+            while (Math.min(frameTime, stepTime) < trialEnd) {
+                if (frameTime <= stepTime) {
+                    // backend hands over what happened since the last frame
+                    if (useEvents) {
+                        postBetween(queue, lastFrameTime, frameTime, pressTime, releaseTime);
+                    } else {
+                        polled.direction = frameTime >= pressTime && frameTime < releaseTime
+                                ? InputSource.MOVE_RIGHT : InputSource.MOVE_NONE;
+                    }
+
+                    float x = snapshot.getInterpolatedPlayerX(snapshot.getAlpha(frameTime));
+                    if (shownTime < 0 && frameTime > pressTime && x != startX) {
+                        shownTime = frameTime + frameNanos;
+                    }
+
+                    lastFrameTime = frameTime;
+                    frameTime += frameNanos;
+                } else {
+                    input.advanceTo(stepTime);
+                    controller.update(STEP_NANOS / 1e9f);
+                    snapshot.capture(controller, 0f, STEP_NANOS / 1e9f, stepTime);
+                    stepTime += STEP_NANOS;
+
+                    hit |= controller.getCollisions() != collisions;
+                    if (controller.isGameOver()) {
+                        controller = new GameController(context, factory);
+                        collisions = 0;
+                    }
+                }
+            }
+
+            // a hit resets the player, the press can't be told apart from that
+            if (hit) {
+                continue;
+            }
+
+            result.presses++;
+            if (shownTime < 0) {
+                result.dropped++;
+            } else {
+                result.latency.record(shownTime - pressTime);
+            }
+        }
+    }
+
+    // stamped at the frame that hands them over, as GameInputProcessor does
+    private static void postBetween(InputEventQueue queue, long from, long to, long pressTime, long releaseTime) {
+        if (pressTime > from && pressTime <= to) {
+            queue.post(InputEventQueue.RIGHT_DOWN, 0f, to);
+        }
+        if (releaseTime > from && releaseTime <= to) {
+            queue.post(InputEventQueue.RIGHT_UP, 0f, to);
+        }
+    }
+
+    // what the game did before the event queue, key state sampled once a frame
+    private static class PolledInput implements InputSource {
+        private int direction = MOVE_NONE;
+
+        @Override
+        public int getMoveDirection() {
+            return direction;
+        }
+    }
+
+    private static class Result {
+        private final TimingHistogram latency = new TimingHistogram();
+        private int presses;
+        private int dropped;
+
+        private void print(String display, String input) {
+            System.out.printf("%-7s %-7s %7d %7d %7.1f %7.1f %7.1f%n", display, input, presses, dropped,
+                    latency.getPercentile(50) / 1e6f, latency.getPercentile(99) / 1e6f, latency.getMax() / 1e6f);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.score.Leaderboard;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * Records random games into a {@link Leaderboard} in a temp directory and
+ * compares its top scores per level with a stable sort of every game, then damages the files the
+ * way a crash could (dirty or deleted index, index behind the log, torn last record) and checks
+ * that reopening recovers the same top scores. Prints record and read times, exits with status 1
+ * on any mismatch.
+ * Usage: {@code ./gradlew headless:checkLeaderboard}, also part of {@code check}, or
+ * {@code ./gradlew headless:soakLeaderboard} for a play farm's worth of a million games,
+ * pass the number of games with {@code --args="<games>"}.
+ */
+public class LeaderboardCheck {
+
+    private static final int DEFAULT_GAMES = 20_000;
+    private static final int CHECKPOINTS = 10;
+    private static final int READ_ROUNDS = 100_000;
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    // TopScoreIndex header, the int set while an insert is under way
+    private static final int INDEX_DIRTY_OFFSET = 28;
+
+    private static int games;
+    private static DifficultyLevel[] levels;
+    private static int[] scores;
+    private static int mismatches;
+
+    public static void main(String[] args) throws IOException {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+
+        File directory = new File(System.getProperty("java.io.tmpdir"), "leaderboard-check-" + System.nanoTime());
+        File logFile = new File(directory, "scores.log");
+        File indexFile = new File(directory, "scores.idx");
+        File savedIndex = new File(directory, "scores.idx.saved");
+
+        levels = new DifficultyLevel[total];
+        scores = new int[total];
+        RandomXS128 random = new RandomXS128(42L);
+
+        try {
+            Leaderboard leaderboard = new Leaderboard(directory);
+
+            // the seed of a game is its number, tells equal scores apart
+            int recordGames = total - total / CHECKPOINTS;
+            long recordNanos = 0;
+            for (int checkpoint = 1; checkpoint <= CHECKPOINTS; checkpoint++) {
+                long startTime = System.nanoTime();
+                record(leaderboard, random, recordGames * checkpoint / CHECKPOINTS);
+                recordNanos += System.nanoTime() - startTime;
+                compare(leaderboard, "after " + games + " games");
+            }
+
+            long startTime = System.nanoTime();
+            long sum = 0;
+            for (int round = 0; round < READ_ROUNDS; round++) {
+                DifficultyLevel level = LEVELS[round % LEVELS.length];
+                for (int rank = 0; rank < leaderboard.getCount(level); rank++) {
+                    sum += leaderboard.getScore(level, rank);
+                }
+            }
+            long readNanos = System.nanoTime() - startTime;
+
+            leaderboard.close();
+            checkReopened(directory, "reopened");
+
+            // crash in the middle of an insert
+            setIndexDirty(indexFile);
+            checkReopened(directory, "dirty index rebuilt");
+
+            indexFile.delete();
+            checkReopened(directory, "deleted index rebuilt");
+
+            // index written out before the last games made it in
+            copy(indexFile, savedIndex);
+            leaderboard = new Leaderboard(directory);
+            record(leaderboard, random, total);
+            leaderboard.close();
+            copy(savedIndex, indexFile);
+            checkReopened(directory, "index behind the log caught up");
+
+            // crash in the middle of an append
+            try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
+                log.seek(log.length());
+                log.write(new byte[20]);
+            }
+            checkReopened(directory, "torn record cut off");
+
+            System.out.printf("leaderboard check: %d games, %.0f ns per record, %.1f ns per rank read (%d)%n",
+                    games, (double) recordNanos / recordGames,
+                    (double) readNanos / (READ_ROUNDS * (long) Leaderboard.TOP_COUNT), sum % 10);
+            System.out.printf("leaderboard check: %d mismatches%n", mismatches);
+        } finally {
+            delete(directory);
+        }
+
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void record(Leaderboard leaderboard, RandomXS128 random, int until) {
+        for (; games < until; games++) {
+            // narrow range, plenty of equal scores
+            DifficultyLevel level = LEVELS[random.nextInt(LEVELS.length)];
+            int score = random.nextInt(random.nextInt(10) == 0 ? 100_000 : 1_000);
+            levels[games] = level;
+            scores[games] = score;
+            leaderboard.record(level, games, score, random.nextInt(60 * 60 * 10));
+        }
+    }
+
+    private static void checkReopened(File directory, String when) {
+        Leaderboard leaderboard = new Leaderboard(directory);
+        if (leaderboard.getRunCount() != games) {
+            mismatches++;
+            System.out.printf("MISMATCH %s run count expected=%d actual=%d%n", when, games, leaderboard.getRunCount());
+        }
+        compare(leaderboard, when);
+        leaderboard.close();
+    }
+
+    // compares with every game sorted best first, equal scores earlier game first
+    private static void compare(Leaderboard leaderboard, String when) {
+        for (DifficultyLevel level : LEVELS) {
+            long[] keys = new long[games];
+            int count = 0;
+            for (int game = 0; game < games; game++) {
+                if (levels[game] == level) {
+                    keys[count++] = (long) (Integer.MAX_VALUE - scores[game]) << 32 | game;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+
+            int expectedCount = Math.min(count, Leaderboard.TOP_COUNT);
+            if (leaderboard.getCount(level) != expectedCount) {
+                mismatches++;
+                System.out.printf("MISMATCH %s %s count expected=%d actual=%d%n",
+                        when, level, expectedCount, leaderboard.getCount(level));
+                continue;
+            }
+
+            for (int rank = 0; rank < expectedCount; rank++) {
+                int game = (int) keys[rank];
+                if (leaderboard.getSeed(level, rank) != game || leaderboard.getScore(level, rank) != scores[game]) {
+                    mismatches++;
+                    System.out.printf("MISMATCH %s %s rank %d expected=%d/%d actual=%d/%d%n", when, level, rank,
+                            game, scores[game], leaderboard.getSeed(level, rank), leaderboard.getScore(level, rank));
+                }
+            }
+        }
+    }
+
+    private static void setIndexDirty(File indexFile) throws IOException {
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            index.seek(INDEX_DIRTY_OFFSET);
+            index.writeInt(1);
+        }
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        try (InputStream in = new FileInputStream(from); OutputStream out = new FileOutputStream(to)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void delete(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private LeaderboardCheck() {
+    }
+}
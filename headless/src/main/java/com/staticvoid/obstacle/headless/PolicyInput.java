@@ -0,0 +1,99 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.Circle;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.GameRandom;
+
+// steering of one TuningRunner game, next() decides before every step from the world
+// the previous step left behind, the way a player reacts to what is on screen
+class PolicyInput implements InputSource {
+
+    // world units above the player an obstacle is dodged from
+    private static final float DODGE_HORIZON = 2.5f;
+    // distance from the middle the dodging player doesn't bother to correct
+    private static final float CENTER_SLACK = 0.5f;
+    private static final int MAX_HOLD_TICKS = 2 * GameConfig.SIM_TICKS_PER_SECOND;
+
+    // -- attributes --
+    private final TuningPolicy policy;
+    private final GameRandom random;
+    private GameController controller;
+
+    private int direction = MOVE_NONE;
+    private int ticksLeft;
+
+    // constructor
+    PolicyInput(TuningPolicy policy, GameRandom random) {
+        this.policy = policy;
+        this.random = random;
+    }
+
+    // == package methods ==
+    // the controller is created with a context holding this input, so it comes in afterwards
+    void setController(GameController controller) {
+        this.controller = controller;
+    }
+
+    void next() {
+        switch (policy) {
+            case IDLE:
+                direction = MOVE_NONE;
+                break;
+            case RANDOM:
+                if (--ticksLeft <= 0) {
+                    direction = random.nextInt(3) - 1;
+                    ticksLeft = 1 + random.nextInt(MAX_HOLD_TICKS);
+                }
+                break;
+            case DODGE:
+                direction = dodge();
+                break;
+            default:
+                throw new IllegalStateException("Unknown policy " + policy);
+        }
+    }
+
+    @Override
+    public int getMoveDirection() {
+        return direction;
+    }
+
+    // == private methods ==
+    private int dodge() {
+        Circle player = controller.getPlayer().getBounds();
+        ObstacleStore obstacles = controller.getObstacles();
+
+        int nearest = -1;
+        float nearestDistance = DODGE_HORIZON;
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (obstacles.isHit(i)) {
+                continue;
+            }
+
+            float reach = obstacles.getRadius(i) + player.radius;
+            float distance = obstacles.getCenterY(i) - player.y;
+            if (distance > -reach && distance < nearestDistance
+                    && Math.abs(obstacles.getCenterX(i) - player.x) < reach) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+
+        if (nearest < 0) {
+            float offCenter = player.x - GameConfig.WORLD_CENTER_X;
+            return offCenter > CENTER_SLACK ? MOVE_LEFT : offCenter < -CENTER_SLACK ? MOVE_RIGHT : MOVE_NONE;
+        }
+
+        // away from the obstacle, unless the wall is in the way
+        boolean goLeft = obstacles.getCenterX(nearest) > player.x;
+        if (goLeft && player.x - player.radius < GameConfig.OBSTACLE_SIZE) {
+            goLeft = false;
+        } else if (!goLeft && player.x + player.radius > GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE) {
+            goLeft = true;
+        }
+        return goLeft ? MOVE_LEFT : MOVE_RIGHT;
+    }
+}
@@ -0,0 +1,232 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.IntArray;
+import com.staticvoid.obstacle.assets.AssetDescriptors;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.FixedTimestep;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.render.RecordingBatch;
+import com.staticvoid.obstacle.render.RecordingShapeDrawer;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.screen.game.GameRenderer;
+import com.staticvoid.obstacle.screen.game.WorldSnapshot;
+import com.staticvoid.obstacle.util.debug.FrameProfiler;
+import com.staticvoid.obstacle.util.debug.RenderStats;
+import com.staticvoid.obstacle.util.debug.TimingHistogram;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Runs {@link GameRenderer} without a GPU: real assets, a {@link RecordingBatch} and a
+ * {@link RecordingShapeDrawer}. Every frame is checked for what GameScreen should submit
+ * (one batch pass, opaque background first, all visible obstacles in one vertex draw, hud
+ * last, three draw calls, one debug shape pass) and for allocations. Prints the CPU time
+ * per rendered frame. Exits with status 1 on any failed check or any frame after warmup that
+ * allocates. Run with C1 only (-XX:TieredStopAtLevel=1, as the checkRenderer task does): C2
+ * now and then charges a few bytes of its own to the thread in the middle of a clean frame,
+ * and its escape analysis could hide an allocation the Android runtime would make.
+ * Usage: {@code ./gradlew headless:checkRenderer}, also part of {@code check}.
+ */
+public class RenderCheck extends ApplicationAdapter {
+
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 10_000;
+    private static final float FRAME_DELTA = 1f / 60f;
+
+    // background + obstacles and player, hud text, the final end
+    private static final int EXPECTED_FLUSHES = 3;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // == attributes
+    private final AssetManager assetManager = new AssetManager();
+    private final RecordingBatch batch = new RecordingBatch();
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final TimingHistogram frameTimes = new TimingHistogram();
+    private final IntArray expectedVisible = new IntArray();
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+
+    private GameContext context;
+    private EntityFactory factory;
+    private RenderStats renderStats;
+    private GameController controller;
+    private GameRenderer renderer;
+    private RecordingShapeDrawer shapes;
+
+    private int failures;
+    private long allocated;
+    private int allocatingFrames;
+
+    // steers left and right in turns so the player moves
+    private final InputSource weavingInput = new InputSource() {
+        private int steps;
+
+        @Override
+        public int getMoveDirection() {
+            steps++;
+            return (steps / 90) % 2 == 0 ? MOVE_LEFT : MOVE_RIGHT;
+        }
+    };
+
+    public static void main(String[] args) {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.preferencesDirectory = ".prefs-headless/";
+        new HeadlessApplication(new RenderCheck(), config);
+    }
+
+    @Override
+    public void create() {
+        // the headless backend has no GL at all, textures only need calls that succeed
+        Gdx.gl = Gdx.gl20 = new NoOpGL20();
+
+        assetManager.load(AssetDescriptors.FONT);
+        assetManager.load(AssetDescriptors.GAME_PLAY);
+        assetManager.finishLoading();
+
+        context = new GameContext(DifficultyLevel.HARD, 42L,
+                weavingInput, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        factory = new EntityFactory(context, assetManager);
+        // stays disabled, so it never reads the (absent) SpriteBatch
+        renderStats = new RenderStats(Gdx.graphics, null);
+        FixedTimestep timestep = new FixedTimestep(GameConfig.SIM_TICKS_PER_SECOND, GameConfig.MAX_SIM_STEPS_PER_FRAME);
+
+        newGame();
+
+        // warmup runs the measuring code too: the JIT compiling it can show up as a
+        // one off allocation that isn't the renderer's
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            playFrame(timestep);
+            newGameIfOver();
+        }
+        allocated = 0;
+        allocatingFrames = 0;
+        frameTimes.reset();
+
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            playFrame(timestep);
+            newGameIfOver();
+        }
+
+        System.out.printf("render check: %d measured frames, %d failed checks, %d bytes allocated in %d frames%n",
+                MEASURED_FRAMES, failures, allocated, allocatingFrames);
+        System.out.printf("render cpu per frame: p50 %.1fus  p99 %.1fus  max %.1fus%n",
+                frameTimes.getPercentile(50) / 1000f, frameTimes.getPercentile(99) / 1000f,
+                frameTimes.getMax() / 1000f);
+
+        boolean ok = failures == 0 && allocatingFrames == 0;
+        System.out.println(ok ? "render check: OK" : "render check: FAILED");
+        // status code matters for the build, exit right here
+        System.exit(ok ? 0 : 1);
+    }
+
+    // == private methods
+    private void playFrame(FixedTimestep timestep) {
+        int steps = timestep.advance(FRAME_DELTA);
+        for (int i = 0; i < steps; i++) {
+            controller.update(timestep.getStepTime());
+        }
+
+        // captured the way GameSimulation does, on this thread
+        snapshot.capture(controller, timestep.getAlpha(), timestep.getStepTime(), 0L);
+
+        batch.reset();
+        shapes.reset();
+
+        long before = allocatedBytes();
+        long start = System.nanoTime();
+        renderer.render(FRAME_DELTA, snapshot, timestep.getAlpha());
+        long frameTime = System.nanoTime() - start;
+        long frameAllocated = allocatedBytes() - before;
+        if (frameAllocated > 0) {
+            allocated += frameAllocated;
+            allocatingFrames++;
+        }
+
+        frameTimes.record(frameTime);
+        verifyFrame();
+    }
+
+    // starting a new game is not part of the steady state frame, so not measured
+    private void newGameIfOver() {
+        if (controller.isGameOver()) {
+            newGame();
+        }
+    }
+
+    private void verifyFrame() {
+        int commands = batch.getCommandCount();
+
+        // background, player, obstacles (if any), lives, score
+        check(batch.getBeginCount() == 1, "one batch pass");
+        check(batch.getFlushCount() == EXPECTED_FLUSHES, "draw calls");
+        check(commands >= 4, "command count");
+        if (commands < 4) {
+            return;
+        }
+
+        check(!batch.isBlendingEnabled(0), "background drawn without blending");
+        for (int i = 1; i < commands; i++) {
+            check(batch.isBlendingEnabled(i), "blending after the background");
+        }
+
+        // camera sits at the world center, zoom 1, see GameRenderer.cullObstacles
+        snapshot.getObstacles().findInRect(0, -2 * GameConfig.OBSTACLE_SIZE,
+                GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT, expectedVisible);
+
+        int worldProjection = batch.getProjectionVersion(1);
+        int hudProjection = batch.getProjectionVersion(commands - 1);
+        check(hudProjection != worldProjection, "hud has its own projection");
+        check(batch.getProjectionVersion(commands - 2) == hudProjection, "hud drawn last");
+        check(batch.getKind(commands - 1) == RecordingBatch.KIND_VERTICES
+                && batch.getKind(commands - 2) == RecordingBatch.KIND_VERTICES, "hud text is cached vertices");
+
+        int obstacleSprites = 0;
+        for (int i = 1; i < commands - 2; i++) {
+            check(batch.getProjectionVersion(i) == worldProjection, "gameplay drawn with the world projection");
+            if (batch.getKind(i) == RecordingBatch.KIND_VERTICES) {
+                obstacleSprites += batch.getSpriteCount(i);
+            }
+        }
+        check(commands - 2 <= 3, "obstacles in a single draw");
+        check(obstacleSprites == expectedVisible.size, "every visible obstacle drawn, no culled one");
+
+        // debug circles for the player and every drawn obstacle
+        check(shapes.getPasses() == 1, "one debug shape pass");
+        check(shapes.getCircles() == obstacleSprites + 1, "debug circles");
+    }
+
+    private void check(boolean condition, String description) {
+        if (!condition) {
+            failures++;
+            if (failures <= 10) {
+                System.out.println("FAILED: " + description);
+            }
+        }
+    }
+
+    private void newGame() {
+        controller = new GameController(context, factory);
+        controller.setBroadphaseType(BroadphaseType.SORTED_INTERVAL);
+        // one per renderer, like GameScreen, it keeps state per line list it has seen
+        shapes = new RecordingShapeDrawer();
+        renderer = new GameRenderer(batch, shapes, assetManager, profiler, renderStats);
+        renderer.resize((int) GameConfig.HUD_WIDTH, (int) GameConfig.HUD_HEIGHT);
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
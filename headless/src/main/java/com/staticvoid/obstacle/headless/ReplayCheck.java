@@ -0,0 +1,211 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.replay.ReplayReader;
+import com.staticvoid.obstacle.replay.ReplayRunner;
+import com.staticvoid.obstacle.replay.ReplayWriter;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Records scripted game sessions (held and tapped keys, touch drags) on every difficulty level
+ * and plays them back with {@link ReplayRunner}, using a different broadphase than the recording.
+ * Fails unless every replay ends on the recorded tick and score without a checksum mismatch,
+ * a session left before game over and a file cut short replay up to where they stop, and
+ * input changed at one tick of a replay with a checksum per step diverges at exactly that tick.
+ * Prints the replay size per second of play, exits with status 1 on any failure.
+ * Usage: {@code ./gradlew headless:checkReplay}, also part of {@code check}.
+ */
+public class ReplayCheck {
+
+    private static final int SESSIONS_PER_LEVEL = 20;
+    // sessions are cut off after ten minutes of play
+    private static final int MAX_TICKS = 10 * 60 * GameConfig.SIM_TICKS_PER_SECOND;
+    private static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    private static int failures;
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "replay-check-" + System.nanoTime());
+        if (!directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        try {
+            long bytes = 0;
+            long ticks = 0;
+            for (DifficultyLevel difficultyLevel : DifficultyLevel.values()) {
+                for (int session = 0; session < SESSIONS_PER_LEVEL; session++) {
+                    long seed = 42L + session;
+                    File file = new File(directory, difficultyLevel + "-" + session + ".bin");
+                    GameController recorded = record(file, difficultyLevel, seed, MAX_TICKS,
+                            ReplayWriter.DEFAULT_CHECKSUM_INTERVAL);
+                    checkReplay(file, recorded, difficultyLevel + " session " + session);
+                    bytes += file.length();
+                    ticks += recorded.getTick();
+                }
+            }
+
+            // left for the menu before game over
+            File left = new File(directory, "left.bin");
+            GameController leftEarly = record(left, DifficultyLevel.EASY, 7L, 500,
+                    ReplayWriter.DEFAULT_CHECKSUM_INTERVAL);
+            checkReplay(left, leftEarly, "left before game over");
+
+            // crash while recording, the last entry is only half written
+            File cut = new File(directory, "cut.bin");
+            record(cut, DifficultyLevel.MEDIUM, 8L, MAX_TICKS, ReplayWriter.DEFAULT_CHECKSUM_INTERVAL);
+            try (RandomAccessFile file = new RandomAccessFile(cut, "rw")) {
+                file.setLength(file.length() - 3);
+            }
+            ReplayReader cutReader = new ReplayReader(cut);
+            int cutDivergence = new ReplayRunner(cutReader).run();
+            if (!cutReader.isTruncated() || cutDivergence != ReplayRunner.NO_DIVERGENCE) {
+                fail("cut short: truncated=%b diverged at %d", cutReader.isTruncated(), cutDivergence);
+            }
+
+            // one step played differently
+            File exact = new File(directory, "exact.bin");
+            GameController exactRecorded = record(exact, DifficultyLevel.HARD, 9L, MAX_TICKS, 1);
+            int changedTick = exactRecorded.getTick() / 2;
+            int divergence = new ReplayRunner(new ChangedInputReader(exact, changedTick)).run();
+            if (divergence != changedTick) {
+                fail("input changed at tick %d, divergence found at %d", changedTick, divergence);
+            }
+
+            System.out.printf("replay check: %d sessions, %d ticks, %.1f bytes per second of play%n",
+                    DifficultyLevel.values().length * SESSIONS_PER_LEVEL, ticks,
+                    bytes / ((double) ticks / GameConfig.SIM_TICKS_PER_SECOND));
+        } finally {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+
+        System.out.println(failures == 0 ? "replay check: OK" : "replay check: FAILED");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // plays until game over or maxTicks, returns the controller that played
+    private static GameController record(File file, DifficultyLevel difficultyLevel, long seed, int maxTicks,
+                                         int checksumInterval) {
+        ScriptedInput input = new ScriptedInput(seed);
+        GameContext context = new GameContext(difficultyLevel, seed,
+                input, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        GameController controller = new GameController(context, new EntityFactory(context, null, null));
+        ReplayWriter writer = new ReplayWriter(file, context, GameConfig.SIM_TICKS_PER_SECOND, checksumInterval);
+        controller.setReplayWriter(writer);
+
+        while (!controller.isGameOver() && controller.getTick() < maxTicks) {
+            input.next();
+            controller.update(STEP_TIME);
+        }
+        writer.close();
+        return controller;
+    }
+
+    private static void checkReplay(File file, GameController recorded, String name) {
+        ReplayRunner runner = new ReplayRunner(new ReplayReader(file));
+        runner.getController().setBroadphaseType(BroadphaseType.SPATIAL_HASH);
+        int divergence = runner.run();
+        GameController replayed = runner.getController();
+
+        if (divergence != ReplayRunner.NO_DIVERGENCE) {
+            fail("%s: diverged at tick %d", name, divergence);
+        } else if (replayed.getTick() != recorded.getTick() || replayed.getScore() != recorded.getScore()
+                || replayed.isGameOver() != recorded.isGameOver()) {
+            fail("%s: recorded tick %d score %d, replayed tick %d score %d", name,
+                    recorded.getTick(), recorded.getScore(), replayed.getTick(), replayed.getScore());
+        } else if (runner.getChecksumsMatched() == 0) {
+            fail("%s: no checksum compared", name);
+        }
+    }
+
+    private static void fail(String format, Object... args) {
+        failures++;
+        System.out.printf("FAILED " + format + "%n", args);
+    }
+
+    // keys held for a while, short taps and touch drags, from its own random
+    private static final class ScriptedInput implements InputSource {
+
+        private final RandomXS128 random;
+        private int direction;
+        private float touchX = NO_TOUCH;
+        private int ticksLeft;
+
+        ScriptedInput(long seed) {
+            random = new RandomXS128(~seed);
+        }
+
+        void next() {
+            if (!Float.isNaN(touchX)) {
+                touchX = Math.max(0f, Math.min(GameConfig.WORLD_WIDTH, touchX + random.nextFloat() * 0.2f - 0.1f));
+            }
+
+            if (--ticksLeft > 0) {
+                return;
+            }
+
+            int choice = random.nextInt(10);
+            direction = choice < 4 ? MOVE_NONE : choice < 6 ? MOVE_LEFT : MOVE_RIGHT;
+            touchX = choice == 9 ? random.nextFloat() * GameConfig.WORLD_WIDTH : NO_TOUCH;
+            // from a one step tap to two seconds
+            ticksLeft = 1 + random.nextInt(2 * GameConfig.SIM_TICKS_PER_SECOND);
+        }
+
+        @Override
+        public int getMoveDirection() {
+            return direction;
+        }
+
+        @Override
+        public float getTouchX() {
+            return touchX;
+        }
+    }
+
+    // the recorded input except for one tick, where the player is dragged somewhere else
+    private static final class ChangedInputReader extends ReplayReader {
+
+        private final int changedTick;
+        private int tick;
+
+        ChangedInputReader(File file, int changedTick) {
+            super(file);
+            this.changedTick = changedTick;
+        }
+
+        @Override
+        public void advanceTick(int tick) {
+            super.advanceTick(tick);
+            this.tick = tick;
+        }
+
+        @Override
+        public float getTouchX() {
+            return tick == changedTick ? 0.123f : super.getTouchX();
+        }
+    }
+
+    private ReplayCheck() {
+    }
+}
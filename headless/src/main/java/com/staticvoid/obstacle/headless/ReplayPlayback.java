@@ -0,0 +1,104 @@
+package com.staticvoid.obstacle.headless;
+
+import com.staticvoid.obstacle.replay.ReplayReader;
+import com.staticvoid.obstacle.replay.ReplayRunner;
+import com.staticvoid.obstacle.screen.game.GameController;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Plays a recorded session again without a window and reports where it diverges from the
+ * recording, if at all, and the slowest simulation steps, to reproduce collision bugs and
+ * performance spikes players report. Takes a replay file or a directory, where the newest
+ * replay is played. The game writes them to {@code replays/} in its working directory, the
+ * default directory is where {@code lwjgl2:run} puts them.
+ * Usage: {@code ./gradlew headless:playReplay --args="<replay file or directory>"}
+ */
+public class ReplayPlayback {
+
+    private static final String DEFAULT_DIRECTORY = "../lwjgl2/replays";
+    private static final int SLOWEST_STEPS = 5;
+
+    public static void main(String[] args) {
+        File file = new File(args.length > 0 ? args[0] : DEFAULT_DIRECTORY);
+        if (file.isDirectory()) {
+            file = findNewest(file);
+        }
+
+        if (file == null || !file.isFile()) {
+            System.err.println("no replay at " + (args.length > 0 ? args[0] : DEFAULT_DIRECTORY));
+            System.exit(1);
+        }
+
+        ReplayReader reader = new ReplayReader(file);
+        ReplayRunner runner = new ReplayRunner(reader);
+        GameController controller = runner.getController();
+
+        System.out.printf("replay:     %s%n", file);
+        System.out.printf("recorded:   %s%n", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT)
+                .format(new Date(reader.getStartMillis())));
+        System.out.printf("seed:       %d  %s  %d ticks per second%n",
+                reader.getSeed(), reader.getDifficultyLevel(), reader.getTicksPerSecond());
+
+        // step times by tick, the first steps include class loading and the JIT
+        long[] stepNanos = new long[1024];
+        while (true) {
+            long start = System.nanoTime();
+            if (!runner.step()) {
+                break;
+            }
+            int tick = controller.getTick();
+            if (tick >= stepNanos.length) {
+                stepNanos = Arrays.copyOf(stepNanos, stepNanos.length * 2);
+            }
+            stepNanos[tick] = System.nanoTime() - start;
+        }
+
+        int ticks = controller.getTick();
+        System.out.printf("played:     %d ticks, score %d, lives %d%s%n", ticks, controller.getScore(),
+                controller.getLives(), reader.isTruncated() ? ", recording cut short" : "");
+        System.out.printf("size:       %d bytes, %.1f per second%n", reader.getSize(),
+                reader.getSize() / Math.max(1.0, (double) ticks / reader.getTicksPerSecond()));
+
+        for (int i = 0; i < SLOWEST_STEPS; i++) {
+            int slowest = 0;
+            for (int tick = 1; tick <= ticks; tick++) {
+                if (stepNanos[tick] > stepNanos[slowest]) {
+                    slowest = tick;
+                }
+            }
+            if (slowest == 0) {
+                break;
+            }
+            System.out.printf("slow step:  tick %d  %.1f us%n", slowest, stepNanos[slowest] / 1000.0);
+            stepNanos[slowest] = 0;
+        }
+
+        if (runner.getDivergedTick() != ReplayRunner.NO_DIVERGENCE) {
+            System.out.printf("DIVERGED at tick %d, %d checksums matched before%n",
+                    runner.getDivergedTick(), runner.getChecksumsMatched());
+            System.exit(1);
+        }
+        System.out.printf("OK, %d checksums matched%n", runner.getChecksumsMatched());
+    }
+
+    private static File findNewest(File directory) {
+        File newest = null;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && (newest == null || file.lastModified() > newest.lastModified())) {
+                    newest = file;
+                }
+            }
+        }
+        return newest;
+    }
+
+    private ReplayPlayback() {
+    }
+}
@@ -0,0 +1,119 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.staticvoid.obstacle.collision.BroadphaseType;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.score.Leaderboard;
+
+import java.io.File;
+
+// steps independent game sessions as fast as the CPU allows, one thread per session
+// with a leaderboard directory every finished game of every session is recorded there
+public class SimulationRunner extends ApplicationAdapter {
+
+    // == attributes
+    private final long ticksPerSession;
+    private final HeadlessSession[] sessions;
+    private final Leaderboard leaderboard;
+
+    // constructor
+    // leaderboardDirectory -- may be null, then scores are discarded
+    public SimulationRunner(long simulatedSeconds, int sessionCount, long seed, BroadphaseType broadphaseType,
+                            File leaderboardDirectory) {
+        this.ticksPerSession = simulatedSeconds * GameConfig.SIM_TICKS_PER_SECOND;
+
+        ScorePersistence scores = ScorePersistence.DISCARD;
+        if (leaderboardDirectory != null) {
+            leaderboard = new Leaderboard(leaderboardDirectory);
+            scores = new ScorePersistence() {
+                @Override
+                public void recordGame(DifficultyLevel difficultyLevel, long seed, int score, int ticks) {
+                    leaderboard.record(difficultyLevel, seed, score, ticks);
+                }
+            };
+        } else {
+            leaderboard = null;
+        }
+
+        sessions = new HeadlessSession[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            sessions[i] = new HeadlessSession(DifficultyLevel.MEDIUM, broadphaseType, seed + i, ticksPerSession,
+                    scores);
+        }
+    }
+
+    // == public methods
+    @Override
+    public void create() {
+        Thread[] threads = new Thread[sessions.length];
+        for (int i = 0; i < sessions.length; i++) {
+            threads[i] = new Thread(sessions[i], "session-" + i);
+        }
+
+        long startTime = System.nanoTime();
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Gdx.app.error(SimulationRunner.class.getSimpleName(), "interrupted", e);
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        printReport(elapsedNanos);
+        if (leaderboard != null) {
+            printLeaderboard();
+            leaderboard.close();
+        }
+        Gdx.app.exit();
+    }
+
+    // == private methods
+    private void printReport(long elapsedNanos) {
+        long ticks = 0;
+        int gamesPlayed = 0;
+        long obstaclesSpawned = 0;
+        long collisions = 0;
+
+        for (HeadlessSession session : sessions) {
+            ticks += session.getTotalTicks();
+            gamesPlayed += session.getGamesPlayed();
+            obstaclesSpawned += session.getObstaclesSpawned();
+            collisions += session.getCollisions();
+        }
+
+        double elapsedSeconds = elapsedNanos / 1e9;
+        double simulatedSeconds = (double) ticks / GameConfig.SIM_TICKS_PER_SECOND;
+
+        System.out.println("== headless simulation ==");
+        System.out.printf("sessions:          %d%n", sessions.length);
+        System.out.printf("ticks:             %d%n", ticks);
+        System.out.printf("simulated time:    %.1f s%n", simulatedSeconds);
+        System.out.printf("wall time:         %.3f s%n", elapsedSeconds);
+        System.out.printf("ticks/second:      %.0f%n", ticks / elapsedSeconds);
+        System.out.printf("speed up:          %.0fx%n", simulatedSeconds / elapsedSeconds);
+        System.out.printf("games played:      %d%n", gamesPlayed);
+        System.out.printf("obstacles spawned: %d%n", obstaclesSpawned);
+        System.out.printf("collisions:        %d%n", collisions);
+    }
+
+    private void printLeaderboard() {
+        DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
+        System.out.printf("recorded games:    %d%n", leaderboard.getRunCount());
+        for (int rank = 0; rank < leaderboard.getCount(difficultyLevel); rank++) {
+            System.out.printf("  #%-2d %6d  %6d ticks  seed %d%n", rank + 1,
+                    leaderboard.getScore(difficultyLevel, rank), leaderboard.getTicks(difficultyLevel, rank),
+                    leaderboard.getSeed(difficultyLevel, rank));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.staticvoid.obstacle.headless;
+
+// how the TuningRunner steers its games
+public enum TuningPolicy {
+    // never steers, the floor any tuning has to beat
+    IDLE,
+    // holds a random direction for a random time, from a one step tap to two seconds
+    RANDOM,
+    // steers away from the nearest obstacle coming down on the player, back to the middle otherwise
+    DODGE
+}
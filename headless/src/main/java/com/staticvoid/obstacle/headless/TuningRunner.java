@@ -0,0 +1,246 @@
+package com.staticvoid.obstacle.headless;
+
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.job.JobGraph;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.job.RangeJob;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.GameRandom;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+* Monte Carlo difficulty tuning, plays thousands of headless games per DifficultyLevel with a
+* TuningPolicy steering, spread over every core by a JobSystem, and prints survival time, score
+* distribution, collisions per minute and how many obstacles were alive per step next to the
+* GameConfig values being tuned
+* each thread takes the next few games when it is done with its own, so long and short games
+* even out, every game gets its own seed from the run seed via GameRandom.jump, the report is
+* the same for any number of workers
+* usage: ./gradlew headless:tune --args="<games per level> [policy] [seed] [workers] [max minutes per game]"
+ */
+public class TuningRunner {
+
+    private static final int DEFAULT_GAMES_PER_LEVEL = 1000;
+    private static final int DEFAULT_MAX_MINUTES = 30;
+    // games a thread takes at a time
+    private static final int BATCH_SIZE = 8;
+    // seeds drawn per game, session and policy
+    private static final int SEEDS_PER_GAME = 2;
+    // last bin counts that many obstacles or more
+    private static final int OBSTACLE_BINS = 24;
+    private static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+
+    // -- attributes --
+    private final int gamesPerLevel;
+    private final TuningPolicy policy;
+    private final long seed;
+    private final int maxTicks;
+    private final int totalGames;
+
+    // by game
+    private final int[] ticks;
+    private final int[] scores;
+    private final int[] collisions;
+    private final boolean[] capped;
+    // by thread slot and level, summed up for the report
+    private long[][][] obstacleSteps;
+
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    public static void main(String[] args) {
+        int gamesPerLevel = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES_PER_LEVEL;
+        TuningPolicy policy = args.length > 1 ? TuningPolicy.valueOf(args[1]) : TuningPolicy.DODGE;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        // the calling thread plays as well
+        int workers = args.length > 3 ? Integer.parseInt(args[3])
+                : Math.max(0, Runtime.getRuntime().availableProcessors() - 1);
+        int maxMinutes = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_MINUTES;
+
+        TuningRunner runner = new TuningRunner(gamesPerLevel, policy, seed, maxMinutes);
+        JobSystem jobs = new JobSystem(workers);
+        try {
+            long startTime = System.nanoTime();
+            runner.run(jobs);
+            runner.printReport(workers, System.nanoTime() - startTime);
+        } finally {
+            jobs.dispose();
+        }
+    }
+
+    // constructor
+    public TuningRunner(int gamesPerLevel, TuningPolicy policy, long seed, int maxMinutes) {
+        if (gamesPerLevel <= 0) {
+            throw new IllegalArgumentException("gamesPerLevel must be positive");
+        }
+
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy param required");
+        }
+
+        this.gamesPerLevel = gamesPerLevel;
+        this.policy = policy;
+        this.seed = seed;
+        this.maxTicks = maxMinutes * 60 * GameConfig.SIM_TICKS_PER_SECOND;
+        this.totalGames = gamesPerLevel * LEVELS.length;
+
+        ticks = new int[totalGames];
+        scores = new int[totalGames];
+        collisions = new int[totalGames];
+        capped = new boolean[totalGames];
+    }
+
+    // == public methods ==
+    // plays every game, returns once all are over
+    public void run(JobSystem jobs) {
+        final int slots = jobs.getWorkerCount() + 1;
+        obstacleSteps = new long[slots][LEVELS.length][OBSTACLE_BINS];
+        nextGame.set(0);
+
+        // one chunk per thread, each plays games until none are left
+        JobGraph graph = new JobGraph();
+        graph.add(new RangeJob("play games", 1) {
+            @Override
+            protected int getRangeSize() {
+                return slots;
+            }
+
+            @Override
+            protected void execute(int from, int to) {
+                playGames(from);
+            }
+        });
+        graph.run(jobs);
+    }
+
+    // == private methods ==
+    private void playGames(int slot) {
+        while (true) {
+            int first = nextGame.getAndAdd(BATCH_SIZE);
+            if (first >= totalGames) {
+                return;
+            }
+
+            int last = Math.min(first + BATCH_SIZE, totalGames);
+            for (int game = first; game < last; game++) {
+                play(game, slot);
+            }
+        }
+    }
+
+    private void play(int game, int slot) {
+        int level = game / gamesPerLevel;
+
+        // the same seeds as drawing them one game after the other
+        GameRandom seeds = new GameRandom(seed);
+        seeds.jump((long) game * SEEDS_PER_GAME);
+        long sessionSeed = seeds.nextLong();
+        PolicyInput input = new PolicyInput(policy, new GameRandom(seeds.nextLong()));
+
+        GameContext context = new GameContext(LEVELS[level], sessionSeed,
+                input, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        GameController controller = new GameController(context, new EntityFactory(context, null, null));
+        input.setController(controller);
+
+        long[] obstacleBins = obstacleSteps[slot][level];
+        while (!controller.isGameOver() && controller.getTick() < maxTicks) {
+            input.next();
+            controller.update(STEP_TIME);
+            obstacleBins[Math.min(controller.getObstacles().size(), OBSTACLE_BINS - 1)]++;
+        }
+
+        ticks[game] = controller.getTick();
+        scores[game] = controller.getScore();
+        collisions[game] = controller.getCollisions();
+        capped[game] = !controller.isGameOver();
+    }
+
+    private void printReport(int workers, long elapsedNanos) {
+        System.out.println("== difficulty tuning ==");
+        System.out.printf("policy %s, seed %d, %d games per level, %d threads, games cut off after %d minutes%n",
+                policy, seed, gamesPerLevel, workers + 1, maxTicks / 60 / GameConfig.SIM_TICKS_PER_SECOND);
+        System.out.printf("OBSTACLE_SPAWN_TIME %.3f  SCORE_MAX_TIME %.3f  LIVES_START %d  MAX_PLAYER_X_SPEED %.1f%n",
+                GameConfig.OBSTACLE_SPAWN_TIME, GameConfig.SCORE_MAX_TIME, GameConfig.LIVES_START,
+                GameConfig.MAX_PLAYER_X_SPEED);
+
+        long totalTicks = 0;
+        for (int level = 0; level < LEVELS.length; level++) {
+            int from = level * gamesPerLevel;
+            int to = from + gamesPerLevel;
+
+            long levelTicks = 0;
+            long levelCollisions = 0;
+            long levelScore = 0;
+            int levelCapped = 0;
+            for (int game = from; game < to; game++) {
+                levelTicks += ticks[game];
+                levelCollisions += collisions[game];
+                levelScore += scores[game];
+                levelCapped += capped[game] ? 1 : 0;
+            }
+            totalTicks += levelTicks;
+
+            int[] survival = Arrays.copyOfRange(ticks, from, to);
+            int[] score = Arrays.copyOfRange(scores, from, to);
+            Arrays.sort(survival);
+            Arrays.sort(score);
+            double minutes = levelTicks / (60.0 * GameConfig.SIM_TICKS_PER_SECOND);
+
+            System.out.println();
+            System.out.printf("%s  obstacle speed %.1f%s%n", LEVELS[level], LEVELS[level].getObstacleSpeed(),
+                    levelCapped > 0 ? ", " + levelCapped + " games cut off" : "");
+            System.out.printf("  survival s    mean %7.1f  p10 %7.1f  p50 %7.1f  p90 %7.1f  p99 %7.1f%n",
+                    (double) levelTicks / gamesPerLevel / GameConfig.SIM_TICKS_PER_SECOND,
+                    seconds(percentile(survival, 10)), seconds(percentile(survival, 50)),
+                    seconds(percentile(survival, 90)), seconds(percentile(survival, 99)));
+            System.out.printf("  score         mean %7.1f  p10 %7d  p50 %7d  p90 %7d  p99 %7d  max %d%n",
+                    (double) levelScore / gamesPerLevel, percentile(score, 10), percentile(score, 50),
+                    percentile(score, 90), percentile(score, 99), score[score.length - 1]);
+            System.out.printf("  collisions    %.2f per minute%n", levelCollisions / minutes);
+            printObstacles(level, levelTicks);
+        }
+
+        double elapsedSeconds = elapsedNanos / 1e9;
+        double simulatedSeconds = (double) totalTicks / GameConfig.SIM_TICKS_PER_SECOND;
+        System.out.println();
+        System.out.printf("%d games, %.1f simulated hours in %.1f s wall time, %.0f games/s, %.0fx real time%n",
+                totalGames, simulatedSeconds / 3600, elapsedSeconds, totalGames / elapsedSeconds,
+                simulatedSeconds / elapsedSeconds);
+    }
+
+    // share of steps with n obstacles alive, empty bins left out
+    private void printObstacles(int level, long levelTicks) {
+        StringBuilder line = new StringBuilder("  obstacles    ");
+        double mean = 0;
+        for (int bin = 0; bin < OBSTACLE_BINS; bin++) {
+            long steps = 0;
+            for (long[][] slot : obstacleSteps) {
+                steps += slot[level][bin];
+            }
+            mean += (double) bin * steps / levelTicks;
+
+            double share = 100.0 * steps / levelTicks;
+            if (share >= 0.05) {
+                line.append(String.format(" %d%s:%.1f%%", bin, bin == OBSTACLE_BINS - 1 ? "+" : "", share));
+            }
+        }
+        System.out.println(line);
+        System.out.printf("               mean %.1f alive per step%n", mean);
+    }
+
+    private static int percentile(int[] sorted, int percent) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+    }
+
+    private static double seconds(int ticks) {
+        return (double) ticks / GameConfig.SIM_TICKS_PER_SECOND;
+    }
+}
@@ -0,0 +1,395 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.config.GameRules;
+import com.staticvoid.obstacle.job.JobGraph;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.job.RangeJob;
+import com.staticvoid.obstacle.util.GameRandom;
+
+/*
+* many independent games stepped together, for training bots against the game
+* step() takes one action per game (InputSource.MOVE_LEFT, MOVE_NONE or MOVE_RIGHT) and writes
+* into arrays the caller owns, game i at i * getObservationSize() in observations and at i in
+* rewards and dones:
+*   observation  player center x, then center dx, dy of the nearest not hit obstacles relative
+*                to the player center, nearest first, missing ones as 0, WORLD_HEIGHT (far above)
+*   reward       points scored in the step, plus COLLISION_REWARD when a life was lost
+*   done         the step ended the game, the observation is already that of the next game
+* the same rules as GameController, taken from GameRules, and its steps put together the same
+* way (same seeds play the same games, see VectorEnvCheck), but every game lives in flat primitive
+* arrays instead of a controller with player sprite, obstacle store, broadphase, step graph, input
+* and sound objects, nothing to render or record
+* a change to GameController.update, its step jobs or restart must be made here as well
+* games are split into chunks over the JobSystem, steps allocate nothing
+* every finished game starts the next one with a seed from that game's own stream, so results
+* don't depend on the number of workers
+ */
+public class VectorEnv {
+
+    // a life lost, about what a few seconds of survival score
+    public static final float COLLISION_REWARD = -10f;
+
+    // games per job chunk at least
+    private static final int MIN_CHUNK = 64;
+    private static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+    private static final float MISSING_DY = GameConfig.WORLD_HEIGHT;
+
+    // bounds center of the player relative to its corner, same as PlayerSprite
+    private static final float PLAYER_HALF_SIZE = GameConfig.PLAYER_SIZE / 2f;
+    private static final float PLAYER_CENTER_Y = GameRules.START_PLAYER_Y + PLAYER_HALF_SIZE;
+
+    // -- attributes --
+    private final int envCount;
+    private final int nearestCount;
+    private final int observationSize;
+    private final float obstacleSpeed;
+    // obstacles alive per game at most, a spawn every OBSTACLE_SPAWN_TIME until they left
+    private final int obstacleCapacity;
+
+    // by game
+    private final float[] playerX;
+    private final float[] obstacleTimer;
+    private final float[] scoreTimer;
+    private final int[] lives;
+    private final int[] score;
+    private final int[] tick;
+    private final int[] obstacleCount;
+    private final long[] seed;
+    private final GameRandom[] seedRandom;
+    private final GameRandom[] spawnRandom;
+    private final GameRandom[] scoreRandom;
+    // seeded with the game seed and split, the way GameContext does
+    private final GameRandom[] gameRandom;
+
+    // by game * obstacleCapacity, in spawn order like ObstacleStore
+    private final float[] obstacleX;
+    private final float[] obstacleY;
+    private final boolean[] obstacleHit;
+
+    // by game * nearestCount, squared distances of the obstacles in the observation
+    private final float[] nearestDistance;
+
+    // null steps every game on the calling thread, see setJobSystem
+    private JobSystem jobs;
+    private final JobGraph stepGraph = new JobGraph();
+    // arguments of the running step, read by the chunks
+    private int[] stepActions;
+    private float[] stepObservations;
+    private float[] stepRewards;
+    private boolean[] stepDones;
+
+    // constructor
+    public VectorEnv(int envCount, int nearestCount, DifficultyLevel difficultyLevel, long seed) {
+        if (envCount <= 0) {
+            throw new IllegalArgumentException("envCount must be positive");
+        }
+
+        if (nearestCount < 0) {
+            throw new IllegalArgumentException("nearestCount must not be negative");
+        }
+
+        if (difficultyLevel == null) {
+            throw new IllegalArgumentException("DifficultyLevel param required");
+        }
+
+        this.envCount = envCount;
+        this.nearestCount = nearestCount;
+        this.observationSize = 1 + 2 * nearestCount;
+        this.obstacleSpeed = difficultyLevel.getObstacleSpeed();
+        float obstacleTravel = GameRules.OBSTACLE_START_Y - GameRules.MIN_OBSTACLE_Y;
+        this.obstacleCapacity = MathUtils.ceil(obstacleTravel / obstacleSpeed / GameConfig.OBSTACLE_SPAWN_TIME) + 2;
+
+        playerX = new float[envCount];
+        obstacleTimer = new float[envCount];
+        scoreTimer = new float[envCount];
+        lives = new int[envCount];
+        score = new int[envCount];
+        tick = new int[envCount];
+        obstacleCount = new int[envCount];
+        this.seed = new long[envCount];
+        seedRandom = new GameRandom[envCount];
+        spawnRandom = new GameRandom[envCount];
+        scoreRandom = new GameRandom[envCount];
+        gameRandom = new GameRandom[envCount];
+
+        obstacleX = new float[envCount * obstacleCapacity];
+        obstacleY = new float[envCount * obstacleCapacity];
+        obstacleHit = new boolean[envCount * obstacleCapacity];
+        nearestDistance = new float[envCount * nearestCount];
+
+        // one stream of game seeds per env
+        GameRandom random = new GameRandom(seed);
+        for (int env = 0; env < envCount; env++) {
+            seedRandom[env] = random.split();
+            spawnRandom[env] = new GameRandom(0L);
+            scoreRandom[env] = new GameRandom(0L);
+            gameRandom[env] = new GameRandom(0L);
+            startGame(env);
+        }
+
+        stepGraph.add(new RangeJob("step games", MIN_CHUNK) {
+            @Override
+            protected int getRangeSize() {
+                return VectorEnv.this.envCount;
+            }
+
+            @Override
+            protected void execute(int from, int to) {
+                for (int env = from; env < to; env++) {
+                    step(env);
+                }
+            }
+        });
+    }
+
+    // == public methods ==
+    // writes the observation of every game's current state, e.g. before the first step
+    public void observe(float[] observations) {
+        checkLength(observations.length, envCount * observationSize, "observations");
+        for (int env = 0; env < envCount; env++) {
+            observe(env, observations);
+        }
+    }
+
+    // one fixed step of every game, actions are read, the other arrays written
+    public void step(int[] actions, float[] observations, float[] rewards, boolean[] dones) {
+        checkLength(actions.length, envCount, "actions");
+        checkLength(observations.length, envCount * observationSize, "observations");
+        checkLength(rewards.length, envCount, "rewards");
+        checkLength(dones.length, envCount, "dones");
+        // checked up front, a bad action must not leave some games stepped and others not
+        for (int env = 0; env < envCount; env++) {
+            int action = actions[env];
+            if (action < InputSource.MOVE_LEFT || action > InputSource.MOVE_RIGHT) {
+                throw new IllegalArgumentException("Action " + action + " of env " + env + " is not a move direction");
+            }
+        }
+
+        stepActions = actions;
+        stepObservations = observations;
+        stepRewards = rewards;
+        stepDones = dones;
+        try {
+            stepGraph.run(jobs);
+        } finally {
+            stepActions = null;
+            stepObservations = null;
+            stepRewards = null;
+            stepDones = null;
+        }
+    }
+
+    // games spread over its workers, null steps all of them on the calling thread,
+    // the outcome is the same either way
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    public int getEnvCount() {
+        return envCount;
+    }
+
+    // floats per game in observations
+    public int getObservationSize() {
+        return observationSize;
+    }
+
+    // the current game of env, as passed to GameContext
+    public long getSeed(int env) {
+        return seed[env];
+    }
+
+    public int getTick(int env) {
+        return tick[env];
+    }
+
+    public int getLives(int env) {
+        return lives[env];
+    }
+
+    public int getScore(int env) {
+        return score[env];
+    }
+
+    // bottom left corner like PlayerSprite.getX
+    public float getPlayerX(int env) {
+        return playerX[env];
+    }
+
+    public int getObstacleCount(int env) {
+        return obstacleCount[env];
+    }
+
+    // bottom left corner like ObstacleStore.getX
+    public float getObstacleX(int env, int index) {
+        return obstacleX[env * obstacleCapacity + index];
+    }
+
+    public float getObstacleY(int env, int index) {
+        return obstacleY[env * obstacleCapacity + index];
+    }
+
+    public boolean isObstacleHit(int env, int index) {
+        return obstacleHit[env * obstacleCapacity + index];
+    }
+
+    // == private methods ==
+    // a new game from the next seed of env, the same state a new GameController starts with
+    private void startGame(int env) {
+        long gameSeed = seedRandom[env].nextLong();
+        seed[env] = gameSeed;
+
+        GameRandom random = gameRandom[env];
+        random.setSeed(gameSeed);
+        random.split(spawnRandom[env]);
+        random.split(scoreRandom[env]);
+
+        playerX[env] = GameRules.START_PLAYER_X;
+        obstacleTimer[env] = 0f;
+        scoreTimer[env] = 0f;
+        lives[env] = GameConfig.LIVES_START;
+        score[env] = 0;
+        tick[env] = 0;
+        obstacleCount[env] = 0;
+    }
+
+    // GameController.update with its jobs inlined, in the order they run without a JobSystem
+    private void step(int env) {
+        int action = stepActions[env];
+        tick[env]++;
+
+        // player
+        float x = GameRules.movePlayerX(playerX[env], action, STEP_TIME);
+        playerX[env] = x;
+
+        // move, spawn and remove obstacles
+        int base = env * obstacleCapacity;
+        int count = obstacleCount[env];
+        for (int i = base; i < base + count; i++) {
+            obstacleY[i] -= obstacleSpeed * STEP_TIME;
+        }
+
+        obstacleTimer[env] += STEP_TIME;
+        if (GameRules.isSpawnDue(obstacleTimer[env])) {
+            if (count == obstacleCapacity) {
+                throw new IllegalStateException("More than " + obstacleCapacity + " obstacles in env " + env);
+            }
+
+            int index = base + count++;
+            obstacleX[index] = GameRules.nextObstacleX(spawnRandom[env]);
+            obstacleY[index] = GameRules.OBSTACLE_START_Y;
+            obstacleHit[index] = false;
+            obstacleTimer[env] = 0f;
+        }
+
+        // single compacting pass, keeps spawn order like ObstacleStore.removeBelow
+        int kept = base;
+        for (int i = base; i < base + count; i++) {
+            if (obstacleY[i] < GameRules.MIN_OBSTACLE_Y) {
+                continue;
+            }
+
+            if (kept != i) {
+                obstacleX[kept] = obstacleX[i];
+                obstacleY[kept] = obstacleY[i];
+                obstacleHit[kept] = obstacleHit[i];
+            }
+            kept++;
+        }
+        count = kept - base;
+        obstacleCount[env] = count;
+
+        // score
+        int points = 0;
+        scoreTimer[env] += STEP_TIME;
+        if (GameRules.isScoreDue(scoreTimer[env])) {
+            points = GameRules.nextPoints(scoreRandom[env]);
+            score[env] += points;
+            scoreTimer[env] = 0.0f;
+        }
+
+        // collision, the first obstacle not hit yet in spawn order, same as every Broadphase
+        float centerX = x + PLAYER_HALF_SIZE;
+        boolean colliding = false;
+        for (int i = base; i < base + count; i++) {
+            if (!obstacleHit[i] && GameRules.overlaps(obstacleX[i], obstacleY[i], GameConfig.OBSTACLE_BOUNDS_RADIUS,
+                    centerX, PLAYER_CENTER_Y, GameConfig.PLAYER_BOUNDS_RADIUS)) {
+                obstacleHit[i] = true;
+                colliding = true;
+                break;
+            }
+        }
+
+        float reward = points;
+        boolean done = false;
+        if (colliding) {
+            reward += COLLISION_REWARD;
+            lives[env]--;
+            if (lives[env] <= 0) {
+                done = true;
+                startGame(env);
+            } else {
+                // restart keeps the timers running
+                obstacleCount[env] = 0;
+                playerX[env] = GameRules.START_PLAYER_X;
+            }
+        }
+
+        stepRewards[env] = reward;
+        stepDones[env] = done;
+        observe(env, stepObservations);
+    }
+
+    // keeps the nearest obstacles sorted while scanning, nearestCount is small
+    private void observe(int env, float[] observations) {
+        int out = env * observationSize;
+        float centerX = playerX[env] + PLAYER_HALF_SIZE;
+        observations[out++] = centerX;
+
+        int nearestBase = env * nearestCount;
+        for (int k = 0; k < nearestCount; k++) {
+            nearestDistance[nearestBase + k] = Float.POSITIVE_INFINITY;
+            observations[out + 2 * k] = 0f;
+            observations[out + 2 * k + 1] = MISSING_DY;
+        }
+
+        int base = env * obstacleCapacity;
+        for (int i = base; i < base + obstacleCount[env]; i++) {
+            if (obstacleHit[i]) {
+                continue;
+            }
+
+            float dx = obstacleX[i] + GameConfig.OBSTACLE_BOUNDS_RADIUS - centerX;
+            float dy = obstacleY[i] + GameConfig.OBSTACLE_BOUNDS_RADIUS - PLAYER_CENTER_Y;
+            float distance = dx * dx + dy * dy;
+
+            // ties keep the earlier obstacle first
+            int k = nearestCount;
+            while (k > 0 && distance < nearestDistance[nearestBase + k - 1]) {
+                k--;
+            }
+            if (k == nearestCount) {
+                continue;
+            }
+
+            for (int j = nearestCount - 1; j > k; j--) {
+                nearestDistance[nearestBase + j] = nearestDistance[nearestBase + j - 1];
+                observations[out + 2 * j] = observations[out + 2 * j - 2];
+                observations[out + 2 * j + 1] = observations[out + 2 * j - 1];
+            }
+            nearestDistance[nearestBase + k] = distance;
+            observations[out + 2 * k] = dx;
+            observations[out + 2 * k + 1] = dy;
+        }
+    }
+
+    private static void checkLength(int length, int required, String name) {
+        if (length < required) {
+            throw new IllegalArgumentException(name + " must hold " + required + " values, has " + length);
+        }
+    }
+}
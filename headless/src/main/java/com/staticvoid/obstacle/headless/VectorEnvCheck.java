@@ -0,0 +1,312 @@
+package com.staticvoid.obstacle.headless;
+
+import com.badlogic.gdx.math.Circle;
+import com.staticvoid.obstacle.common.EntityFactory;
+import com.staticvoid.obstacle.common.GameContext;
+import com.staticvoid.obstacle.common.InputSource;
+import com.staticvoid.obstacle.common.ScorePersistence;
+import com.staticvoid.obstacle.common.SoundSink;
+import com.staticvoid.obstacle.config.DifficultyLevel;
+import com.staticvoid.obstacle.config.GameConfig;
+import com.staticvoid.obstacle.entity.ObstacleStore;
+import com.staticvoid.obstacle.job.JobSystem;
+import com.staticvoid.obstacle.screen.game.GameController;
+import com.staticvoid.obstacle.util.GameRandom;
+import com.staticvoid.obstacle.util.log.EventLog;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Checks {@link VectorEnv} against {@link GameController}. Plays games on every difficulty
+ * level through both with the same seeds and random actions and fails on the first step where
+ * player, obstacles, lives, score, reward, done flag or observation differ (observations are
+ * compared with the nearest obstacles sorted from the controller's {@link ObstacleStore}).
+ * Then steps thousands of games with and without a {@link JobSystem} and fails unless every
+ * output is the same and stepping allocated nothing on the calling thread or the workers.
+ * Prints game steps per second of both, exits with status 1 on any failure.
+ * Usage: {@code ./gradlew headless:checkVectorEnv}, also part of {@code check}.
+ */
+public class VectorEnvCheck {
+
+    private static final int COMPARED_ENVS = 16;
+    private static final int COMPARED_GAMES_PER_LEVEL = 200;
+    private static final int NEAREST_COUNT = 4;
+
+    private static final int PARALLEL_ENVS = 4096;
+    private static final int PARALLEL_STEPS = 600;
+    private static final int MEASURED_STEPS = 2000;
+
+    private static final float STEP_TIME = 1f / GameConfig.SIM_TICKS_PER_SECOND;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        for (DifficultyLevel difficultyLevel : DifficultyLevel.values()) {
+            compare(difficultyLevel, 42L + difficultyLevel.ordinal());
+        }
+
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        JobSystem jobs = new JobSystem(workers);
+        try {
+            checkParallel(jobs);
+            measure(jobs);
+        } finally {
+            jobs.dispose();
+        }
+
+        System.out.println(failures == 0 ? "vector env check: OK" : "vector env check: FAILED");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // == private methods ==
+    private static void compare(DifficultyLevel difficultyLevel, long seed) {
+        VectorEnv env = new VectorEnv(COMPARED_ENVS, NEAREST_COUNT, difficultyLevel, seed);
+        int stride = env.getObservationSize();
+        int[] actions = new int[COMPARED_ENVS];
+        float[] observations = new float[COMPARED_ENVS * stride];
+        float[] rewards = new float[COMPARED_ENVS];
+        boolean[] dones = new boolean[COMPARED_ENVS];
+        float[] expected = new float[stride];
+
+        PolicyInput[] inputs = new PolicyInput[COMPARED_ENVS];
+        GameController[] controllers = new GameController[COMPARED_ENVS];
+        GameRandom random = new GameRandom(~seed);
+        for (int i = 0; i < COMPARED_ENVS; i++) {
+            inputs[i] = new PolicyInput(TuningPolicy.RANDOM, random.split());
+            controllers[i] = newController(difficultyLevel, env.getSeed(i), inputs[i]);
+        }
+
+        int games = 0;
+        long steps = 0;
+        while (games < COMPARED_GAMES_PER_LEVEL) {
+            for (int i = 0; i < COMPARED_ENVS; i++) {
+                inputs[i].next();
+                actions[i] = inputs[i].getMoveDirection();
+            }
+            env.step(actions, observations, rewards, dones);
+            steps++;
+
+            for (int i = 0; i < COMPARED_ENVS; i++) {
+                GameController controller = controllers[i];
+                int scoreBefore = controller.getScore();
+                int livesBefore = controller.getLives();
+                controller.update(STEP_TIME);
+
+                String name = difficultyLevel + " env " + i + " tick " + controller.getTick();
+                float reward = controller.getScore() - scoreBefore
+                        + (controller.getLives() < livesBefore ? VectorEnv.COLLISION_REWARD : 0f);
+                if (rewards[i] != reward || dones[i] != controller.isGameOver()) {
+                    fail("%s: reward %f done %b, controller %f %b", name, rewards[i], dones[i],
+                            reward, controller.isGameOver());
+                    return;
+                }
+
+                if (dones[i]) {
+                    games++;
+                    controllers[i] = newController(difficultyLevel, env.getSeed(i), inputs[i]);
+                    controller = controllers[i];
+                } else if (!sameState(env, i, controller, name)) {
+                    return;
+                }
+
+                expectedObservation(controller, expected);
+                for (int k = 0; k < stride; k++) {
+                    if (Float.floatToIntBits(observations[i * stride + k]) != Float.floatToIntBits(expected[k])) {
+                        fail("%s: observation %s, expected %s", name,
+                                Arrays.toString(Arrays.copyOfRange(observations, i * stride, (i + 1) * stride)),
+                                Arrays.toString(expected));
+                        return;
+                    }
+                }
+            }
+        }
+
+        System.out.printf("vector env check: %-6s %d games, %d steps same as GameController%n",
+                difficultyLevel, games, steps * COMPARED_ENVS);
+    }
+
+    private static boolean sameState(VectorEnv env, int i, GameController controller, String name) {
+        ObstacleStore obstacles = controller.getObstacles();
+        boolean same = env.getTick(i) == controller.getTick()
+                && env.getLives(i) == controller.getLives()
+                && env.getScore(i) == controller.getScore()
+                && env.getPlayerX(i) == controller.getPlayer().getX()
+                && env.getObstacleCount(i) == obstacles.size();
+
+        for (int o = 0; same && o < obstacles.size(); o++) {
+            same = env.getObstacleX(i, o) == obstacles.getX(o)
+                    && env.getObstacleY(i, o) == obstacles.getY(o)
+                    && env.isObstacleHit(i, o) == obstacles.isHit(o);
+        }
+
+        if (!same) {
+            fail("%s: lives %d score %d player x %f obstacles %d, controller lives %d score %d player x %f obstacles %d",
+                    name, env.getLives(i), env.getScore(i), env.getPlayerX(i), env.getObstacleCount(i),
+                    controller.getLives(), controller.getScore(), controller.getPlayer().getX(), obstacles.size());
+        }
+        return same;
+    }
+
+    // brute force: every not hit obstacle sorted by distance, ties in index order
+    private static void expectedObservation(GameController controller, float[] expected) {
+        Circle player = controller.getPlayer().getBounds();
+        ObstacleStore obstacles = controller.getObstacles();
+
+        Integer[] order = new Integer[obstacles.size()];
+        float[] distances = new float[obstacles.size()];
+        int count = 0;
+        for (int o = 0; o < obstacles.size(); o++) {
+            if (!obstacles.isHit(o)) {
+                float dx = obstacles.getCenterX(o) - player.x;
+                float dy = obstacles.getCenterY(o) - player.y;
+                distances[o] = dx * dx + dy * dy;
+                order[count++] = o;
+            }
+        }
+        Arrays.sort(order, 0, count, (a, b) -> Float.compare(distances[a], distances[b]));
+
+        expected[0] = player.x;
+        for (int k = 0; k < NEAREST_COUNT; k++) {
+            if (k < count) {
+                expected[1 + 2 * k] = obstacles.getCenterX(order[k]) - player.x;
+                expected[2 + 2 * k] = obstacles.getCenterY(order[k]) - player.y;
+            } else {
+                expected[1 + 2 * k] = 0f;
+                expected[2 + 2 * k] = GameConfig.WORLD_HEIGHT;
+            }
+        }
+    }
+
+    // same seed and actions on the calling thread and spread over workers
+    private static void checkParallel(JobSystem jobs) {
+        VectorEnv serial = new VectorEnv(PARALLEL_ENVS, NEAREST_COUNT, DifficultyLevel.HARD, 7L);
+        VectorEnv parallel = new VectorEnv(PARALLEL_ENVS, NEAREST_COUNT, DifficultyLevel.HARD, 7L);
+        parallel.setJobSystem(jobs);
+
+        Buffers a = new Buffers(serial);
+        Buffers b = new Buffers(parallel);
+        GameRandom random = new GameRandom(7L);
+        for (int step = 0; step < PARALLEL_STEPS; step++) {
+            a.randomActions(random);
+            System.arraycopy(a.actions, 0, b.actions, 0, PARALLEL_ENVS);
+            a.step(serial);
+            b.step(parallel);
+
+            if (!Arrays.equals(a.observations, b.observations) || !Arrays.equals(a.rewards, b.rewards)
+                    || !Arrays.equals(a.dones, b.dones)) {
+                fail("step %d differs with %d workers", step, jobs.getWorkerCount());
+                return;
+            }
+        }
+    }
+
+    // steps per second of VectorEnv and of GameController, and bytes allocated by VectorEnv
+    private static void measure(JobSystem jobs) {
+        VectorEnv env = new VectorEnv(PARALLEL_ENVS, NEAREST_COUNT, DifficultyLevel.MEDIUM, 11L);
+        env.setJobSystem(jobs);
+        Buffers buffers = new Buffers(env);
+        GameRandom random = new GameRandom(11L);
+        long[] threadIds = workerThreadIds();
+
+        // first pass warms up, the JIT compiling the loop can allocate
+        for (int pass = 0; pass < 2; pass++) {
+            long allocatedBefore = allocatedBytes(threadIds);
+            long start = System.nanoTime();
+            for (int step = 0; step < MEASURED_STEPS; step++) {
+                buffers.randomActions(random);
+                buffers.step(env);
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBytes(threadIds) - allocatedBefore;
+
+            if (pass == 1) {
+                System.out.printf("vector env check: %.1fM game steps/s on %d threads, %d bytes allocated%n",
+                        (double) PARALLEL_ENVS * MEASURED_STEPS / elapsed * 1e3, threadIds.length, allocated);
+                if (allocated > 0) {
+                    fail("stepping allocated %d bytes", allocated);
+                }
+            }
+        }
+
+        // the same number of steps one GameController at a time
+        PolicyInput input = new PolicyInput(TuningPolicy.RANDOM, new GameRandom(11L));
+        GameController controller = newController(DifficultyLevel.MEDIUM, 11L, input);
+        long controllerSteps = (long) PARALLEL_ENVS * MEASURED_STEPS / 8;
+        long start = System.nanoTime();
+        for (long step = 0; step < controllerSteps; step++) {
+            input.next();
+            controller.update(STEP_TIME);
+            if (controller.isGameOver()) {
+                controller = newController(DifficultyLevel.MEDIUM, step, input);
+            }
+        }
+        System.out.printf("vector env check: %.1fM game steps/s through GameController on one thread%n",
+                (double) controllerSteps / (System.nanoTime() - start) * 1e3);
+    }
+
+    private static GameController newController(DifficultyLevel difficultyLevel, long seed, InputSource input) {
+        GameContext context = new GameContext(difficultyLevel, seed,
+                input, SoundSink.SILENT, ScorePersistence.DISCARD, EventLog.OFF);
+        return new GameController(context, new EntityFactory(context, null, null));
+    }
+
+    // this thread and the JobSystem workers
+    private static long[] workerThreadIds() {
+        long[] ids = new long[1];
+        ids[0] = Thread.currentThread().getId();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("job-worker-")) {
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = thread.getId();
+            }
+        }
+        return ids;
+    }
+
+    private static long allocatedBytes(long[] threadIds) {
+        long bytes = 0;
+        for (long id : threadIds) {
+            bytes += THREAD_BEAN.getThreadAllocatedBytes(id);
+        }
+        return bytes;
+    }
+
+    private static void fail(String format, Object... args) {
+        failures++;
+        System.out.printf("FAILED " + format + "%n", args);
+    }
+
+    // arrays of one VectorEnv
+    private static final class Buffers {
+        final int[] actions;
+        final float[] observations;
+        final float[] rewards;
+        final boolean[] dones;
+
+        Buffers(VectorEnv env) {
+            actions = new int[env.getEnvCount()];
+            observations = new float[env.getEnvCount() * env.getObservationSize()];
+            rewards = new float[env.getEnvCount()];
+            dones = new boolean[env.getEnvCount()];
+        }
+
+        void randomActions(GameRandom random) {
+            for (int i = 0; i < actions.length; i++) {
+                actions[i] = random.nextInt(3) - 1;
+            }
+        }
+
+        void step(VectorEnv env) {
+            env.step(actions, observations, rewards, dones);
+        }
+    }
+
+    private VectorEnvCheck() {
+    }
+}